@@ -0,0 +1,16 @@
+package com.example.securecustomerapi.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Caffeine-backed Spring Cache; sizes and TTLs come from spring.cache.caffeine.spec.
+// The caching advice is ordered just outside the transaction advice, so @CachePut and
+// @CacheEvict only touch the cache after the surrounding transaction has committed.
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+    
+    // CustomerResponseDTO by customer id
+    public static final String CUSTOMERS = "customers";
+}
@@ -0,0 +1,10 @@
+package com.example.securecustomerapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs (see ExpiredTokenReaper)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
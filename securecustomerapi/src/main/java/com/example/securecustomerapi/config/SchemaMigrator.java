@@ -0,0 +1,25 @@
+package com.example.securecustomerapi.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+// Applies pending Flyway migrations after Hibernate's schema update (see FlywayConfig)
+@Component
+public class SchemaMigrator {
+    
+    @Autowired
+    private Flyway flyway;
+    
+    // Injected only for ordering: the schema update has run once the factory exists
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @PostConstruct
+    public void migrate() {
+        flyway.migrate();
+    }
+}
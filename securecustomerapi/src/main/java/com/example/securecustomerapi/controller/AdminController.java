@@ -1,15 +1,23 @@
 package com.example.securecustomerapi.controller;
 
+import com.example.securecustomerapi.dto.BulkResultDTO;
+import com.example.securecustomerapi.dto.BulkUserRoleDTO;
+import com.example.securecustomerapi.dto.BulkUserStatusDTO;
+import com.example.securecustomerapi.dto.CursorPageDTO;
 import com.example.securecustomerapi.dto.UpdateRoleDTO;
 import com.example.securecustomerapi.dto.UserResponseDTO;
+import com.example.securecustomerapi.entity.Role;
+import com.example.securecustomerapi.service.CacheStatisticsService;
 import com.example.securecustomerapi.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -19,11 +27,21 @@ public class AdminController {
     @Autowired
     private UserService userService;
     
-    // EXERCISE 8.1: List All Users
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+    
+    // EXERCISE 8.1: List Users, one keyset page at a time (ordered by id)
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
-        List<UserResponseDTO> users = userService.getAllUsers();
+    public ResponseEntity<CursorPageDTO<UserResponseDTO>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @RequestParam(required = false) String usernamePrefix) {
+        CursorPageDTO<UserResponseDTO> users = userService.getUsersPage(
+                cursor, size, role, active, createdAfter, usernamePrefix);
         return ResponseEntity.ok(users);
     }
     
@@ -44,4 +62,25 @@ public class AdminController {
         UserResponseDTO updatedUser = userService.toggleUserStatus(id);
         return ResponseEntity.ok(updatedUser);
     }
+    
+    // Bulk role change: one UPDATE for all listed users; users already in the role are skipped
+    @PutMapping("/users/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkResultDTO> updateUserRoles(@Valid @RequestBody BulkUserRoleDTO dto) {
+        return ResponseEntity.ok(userService.updateUserRoles(dto));
+    }
+    
+    // Bulk activate/deactivate: one UPDATE for all listed users
+    @PatchMapping("/users/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkResultDTO> updateUserStatuses(@Valid @RequestBody BulkUserStatusDTO dto) {
+        return ResponseEntity.ok(userService.updateUserStatuses(dto));
+    }
+    
+    // Hibernate cache hit/miss/put counters, overall and per region
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getStatistics());
+    }
 }
@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -57,11 +59,18 @@ public class AuthController {
         return ResponseEntity.ok(user);
     }
     
+    // Revokes the presented access token (until its expiry) and the user's refresh token
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, String>> logout() {
-        // In JWT, logout is handled client-side by removing token
+    public ResponseEntity<Map<String, String>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && authorization != null && authorization.startsWith("Bearer ")) {
+            userService.logout(authentication.getName(), authorization.substring(7));
+        }
+        
         Map<String, String> response = new HashMap<>();
-        response.put("message", "Logged out successfully. Please remove token from client.");
+        response.put("message", "Logged out successfully");
         return ResponseEntity.ok(response);
     }
     
@@ -1,15 +1,31 @@
 package com.example.securecustomerapi.controller;
 
+import com.example.securecustomerapi.dto.BatchGetRequestDTO;
+import com.example.securecustomerapi.dto.BatchGetResultDTO;
+import com.example.securecustomerapi.dto.BulkCustomerSelectionDTO;
+import com.example.securecustomerapi.dto.BulkCustomerUpdateDTO;
+import com.example.securecustomerapi.dto.BulkImportResultDTO;
+import com.example.securecustomerapi.dto.BulkResultDTO;
+import com.example.securecustomerapi.dto.CursorPageDTO;
 import com.example.securecustomerapi.dto.CustomerRequestDTO;
 import com.example.securecustomerapi.dto.CustomerResponseDTO;
 import com.example.securecustomerapi.service.CustomerService;
+import com.example.securecustomerapi.util.ETags;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,18 +38,64 @@ public class CustomerRestController {
     @Autowired
     private CustomerService customerService;
     
-    // GET - All users can view
+    // GET - All users can view, one keyset page at a time (sort=id or sort=createdAt).
+    // An unchanged page answers If-None-Match with 304 and no body.
     @GetMapping
-    public ResponseEntity<List<CustomerResponseDTO>> getAllCustomers() {
-        List<CustomerResponseDTO> customers = customerService.getAllCustomers();
-        return ResponseEntity.ok(customers);
+    public ResponseEntity<CursorPageDTO<CustomerResponseDTO>> getAllCustomers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "id") String sort,
+            WebRequest webRequest) {
+        CursorPageDTO<CustomerResponseDTO> page = customerService.getCustomersPage(cursor, size, sort);
+        
+        String etag = ETags.ofPage(page.getItems(), page.getNextCursor());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(page);
+    }
+    
+    // EXPORT - Stream all customers as NDJSON (default) or a JSON array
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCustomers(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        boolean ndjson;
+        if ("ndjson".equalsIgnoreCase(format)) {
+            ndjson = true;
+        } else if ("json".equalsIgnoreCase(format)) {
+            ndjson = false;
+        } else {
+            throw new IllegalArgumentException("Unsupported export format: " + format + " (expected ndjson or json)");
+        }
+        
+        StreamingResponseBody body = out -> customerService.exportCustomers(out, ndjson);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
     }
     
-    // GET by ID - All users can view
+    // GET by ID - All users can view. Conditional on If-None-Match / If-Modified-Since;
+    // the tag comes from the (usually cached) DTO, so a 304 skips serialization.
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerResponseDTO> getCustomerById(@PathVariable Long id) {
+    public ResponseEntity<CustomerResponseDTO> getCustomerById(@PathVariable Long id, WebRequest webRequest) {
         CustomerResponseDTO customer = customerService.getCustomerById(id);
-        return ResponseEntity.ok(customer);
+        
+        String etag = ETags.of(customer);
+        long lastModified = ETags.toEpochMillis(customer.getUpdatedAt());
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .body(customer);
+    }
+    
+    // BATCH GET - All users can view; many ids or codes in one request (POST only to carry the body)
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResultDTO> batchGetCustomers(@RequestBody BatchGetRequestDTO request) {
+        BatchGetResultDTO result = customerService.batchGetCustomers(request);
+        return ResponseEntity.ok(result);
     }
     
     // POST - Only ADMIN can create
@@ -41,33 +103,86 @@ public class CustomerRestController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<CustomerResponseDTO> createCustomer(@Valid @RequestBody CustomerRequestDTO requestDTO) {
         CustomerResponseDTO created = customerService.createCustomer(requestDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(created)).body(created);
+    }
+    
+    // BULK IMPORT - Only ADMIN, JSON array body
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkImportResultDTO> importCustomers(@RequestBody List<CustomerRequestDTO> requests) {
+        BulkImportResultDTO result = customerService.importCustomers(requests);
+        return ResponseEntity.ok(result);
+    }
+    
+    // BULK IMPORT - Only ADMIN, CSV body with a header row (customerCode,fullName,email,phone,address)
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkImportResultDTO> importCustomersCsv(HttpServletRequest request) throws IOException {
+        BulkImportResultDTO result = customerService.importCustomersCsv(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        return ResponseEntity.ok(result);
     }
     
-    // PUT - Only ADMIN can update
+    // BULK UPDATE - Only ADMIN; sets status and/or fullName, phone, address on the selected customers
+    @PatchMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkResultDTO> bulkUpdateCustomers(@Valid @RequestBody BulkCustomerUpdateDTO request) {
+        BulkResultDTO result = customerService.bulkUpdateCustomers(request);
+        return ResponseEntity.ok(result);
+    }
+    
+    // BULK DELETE - Only ADMIN; body selects by ids or by filter
+    @DeleteMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkResultDTO> bulkDeleteCustomers(@RequestBody BulkCustomerSelectionDTO selection) {
+        BulkResultDTO result = customerService.bulkDeleteCustomers(selection);
+        return ResponseEntity.ok(result);
+    }
+    
+    // PUT - Only ADMIN can update; If-Match (optional) must carry the current ETag, else 412.
+    // A body "version" that is no longer current is a 409; without either, a concurrent edit is still a 409.
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<CustomerResponseDTO> updateCustomer(
             @PathVariable Long id,
-            @Valid @RequestBody CustomerRequestDTO requestDTO) {
-        CustomerResponseDTO updated = customerService.updateCustomer(id, requestDTO);
-        return ResponseEntity.ok(updated);
+            @Valid @RequestBody CustomerRequestDTO requestDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CustomerResponseDTO updated = customerService.updateCustomer(id, requestDTO, ifMatch);
+        return ResponseEntity.ok().eTag(ETags.of(updated)).body(updated);
     }
     
-    // DELETE - Only ADMIN can delete
+    // DELETE - Only ADMIN can delete; If-Match (optional) must carry the current ETag, else 412
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Map<String, String>> deleteCustomer(@PathVariable Long id) {
-        customerService.deleteCustomer(id);
+    public ResponseEntity<Map<String, String>> deleteCustomer(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        customerService.deleteCustomer(id, ifMatch);
         Map<String, String> response = new HashMap<>();
         response.put("message", "Customer deleted successfully");
         return ResponseEntity.ok(response);
     }
     
-    // SEARCH - All authenticated users
+    // SEARCH - All authenticated users. Ranked word-prefix match on name/email/code ("smi" finds
+    // "Smith"); falls back to a substring match only when no word starts with the keyword.
     @GetMapping("/search")
-    public ResponseEntity<List<CustomerResponseDTO>> searchCustomers(@RequestParam String keyword) {
-        List<CustomerResponseDTO> customers = customerService.searchCustomers(keyword);
+    public ResponseEntity<List<CustomerResponseDTO>> searchCustomers(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        List<CustomerResponseDTO> customers = customerService.searchCustomers(keyword, page, size);
+        return ResponseEntity.ok(customers);
+    }
+    
+    // ADVANCED SEARCH - Optional name/email prefixes and exact status
+    @GetMapping("/advanced-search")
+    public ResponseEntity<List<CustomerResponseDTO>> advancedSearch(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        List<CustomerResponseDTO> customers = customerService.advancedSearch(name, email, status, page, size);
         return ResponseEntity.ok(customers);
     }
 }
@@ -0,0 +1,37 @@
+package com.example.securecustomerapi.dto;
+
+import java.util.List;
+
+// Customers to resolve, either by id or by customer code, never both
+public class BatchGetRequestDTO {
+    
+    private List<Long> ids;
+    
+    private List<String> codes;
+    
+    // Constructors
+    public BatchGetRequestDTO() {
+    }
+    
+    public BatchGetRequestDTO(List<Long> ids, List<String> codes) {
+        this.ids = ids;
+        this.codes = codes;
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public List<String> getCodes() {
+        return codes;
+    }
+    
+    public void setCodes(List<String> codes) {
+        this.codes = codes;
+    }
+}
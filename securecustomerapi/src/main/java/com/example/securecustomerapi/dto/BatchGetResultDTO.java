@@ -0,0 +1,49 @@
+package com.example.securecustomerapi.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchGetResultDTO {
+    
+    // Found customers, in request order (duplicates collapsed)
+    private List<CustomerResponseDTO> items = new ArrayList<>();
+    
+    // Requested ids or codes with no matching customer, in request order
+    private List<Long> missingIds = new ArrayList<>();
+    private List<String> missingCodes = new ArrayList<>();
+    
+    // Constructors
+    public BatchGetResultDTO() {
+    }
+    
+    public BatchGetResultDTO(List<CustomerResponseDTO> items, List<Long> missingIds, List<String> missingCodes) {
+        this.items = items;
+        this.missingIds = missingIds;
+        this.missingCodes = missingCodes;
+    }
+    
+    // Getters and Setters
+    public List<CustomerResponseDTO> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<CustomerResponseDTO> items) {
+        this.items = items;
+    }
+    
+    public List<Long> getMissingIds() {
+        return missingIds;
+    }
+    
+    public void setMissingIds(List<Long> missingIds) {
+        this.missingIds = missingIds;
+    }
+    
+    public List<String> getMissingCodes() {
+        return missingCodes;
+    }
+    
+    public void setMissingCodes(List<String> missingCodes) {
+        this.missingCodes = missingCodes;
+    }
+}
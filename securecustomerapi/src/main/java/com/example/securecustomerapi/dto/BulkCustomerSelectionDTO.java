@@ -0,0 +1,37 @@
+package com.example.securecustomerapi.dto;
+
+import java.util.List;
+
+// Targets either an explicit id list or every customer matching the filter, never both
+public class BulkCustomerSelectionDTO {
+    
+    private List<Long> ids;
+    
+    private CustomerFilterDTO filter;
+    
+    // Constructors
+    public BulkCustomerSelectionDTO() {
+    }
+    
+    public BulkCustomerSelectionDTO(List<Long> ids, CustomerFilterDTO filter) {
+        this.ids = ids;
+        this.filter = filter;
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public CustomerFilterDTO getFilter() {
+        return filter;
+    }
+    
+    public void setFilter(CustomerFilterDTO filter) {
+        this.filter = filter;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.securecustomerapi.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+// Selection (ids or filter) plus the fields to set; null fields are left unchanged.
+// Email is not bulk-updatable because it is unique per customer.
+public class BulkCustomerUpdateDTO {
+    
+    private List<Long> ids;
+    
+    private CustomerFilterDTO filter;
+    
+    private String status;
+    
+    @Size(min = 2, max = 100, message = "Name must be 2-100 characters")
+    private String fullName;
+    
+    @Pattern(regexp = "^\\+?[0-9]{10,20}$", message = "Invalid phone number format")
+    private String phone;
+    
+    @Size(max = 500, message = "Address too long")
+    private String address;
+    
+    // Constructors
+    public BulkCustomerUpdateDTO() {
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public CustomerFilterDTO getFilter() {
+        return filter;
+    }
+    
+    public void setFilter(CustomerFilterDTO filter) {
+        this.filter = filter;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getFullName() {
+        return fullName;
+    }
+    
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+    
+    public String getPhone() {
+        return phone;
+    }
+    
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+    
+    public String getAddress() {
+        return address;
+    }
+    
+    public void setAddress(String address) {
+        this.address = address;
+    }
+}
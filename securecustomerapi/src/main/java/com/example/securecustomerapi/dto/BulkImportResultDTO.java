@@ -0,0 +1,56 @@
+package com.example.securecustomerapi.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportResultDTO {
+    
+    private int total;
+    private int inserted;
+    private int failed;
+    private List<BulkRowErrorDTO> errors = new ArrayList<>();
+    
+    // Constructors
+    public BulkImportResultDTO() {
+    }
+    
+    public BulkImportResultDTO(int total, int inserted, int failed, List<BulkRowErrorDTO> errors) {
+        this.total = total;
+        this.inserted = inserted;
+        this.failed = failed;
+        this.errors = errors;
+    }
+    
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+    
+    public void setTotal(int total) {
+        this.total = total;
+    }
+    
+    public int getInserted() {
+        return inserted;
+    }
+    
+    public void setInserted(int inserted) {
+        this.inserted = inserted;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    public List<BulkRowErrorDTO> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<BulkRowErrorDTO> errors) {
+        this.errors = errors;
+    }
+}
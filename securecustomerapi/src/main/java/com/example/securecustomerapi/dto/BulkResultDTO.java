@@ -0,0 +1,36 @@
+package com.example.securecustomerapi.dto;
+
+public class BulkResultDTO {
+    
+    // Rows actually changed or deleted
+    private int affected;
+    
+    // Statements (and transactions) used to get there
+    private int chunks;
+    
+    // Constructors
+    public BulkResultDTO() {
+    }
+    
+    public BulkResultDTO(int affected, int chunks) {
+        this.affected = affected;
+        this.chunks = chunks;
+    }
+    
+    // Getters and Setters
+    public int getAffected() {
+        return affected;
+    }
+    
+    public void setAffected(int affected) {
+        this.affected = affected;
+    }
+    
+    public int getChunks() {
+        return chunks;
+    }
+    
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+}
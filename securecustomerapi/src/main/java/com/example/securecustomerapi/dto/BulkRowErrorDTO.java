@@ -0,0 +1,43 @@
+package com.example.securecustomerapi.dto;
+
+public class BulkRowErrorDTO {
+    
+    private int row;
+    private String customerCode;
+    private String message;
+    
+    // Constructors
+    public BulkRowErrorDTO() {
+    }
+    
+    public BulkRowErrorDTO(int row, String customerCode, String message) {
+        this.row = row;
+        this.customerCode = customerCode;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public int getRow() {
+        return row;
+    }
+    
+    public void setRow(int row) {
+        this.row = row;
+    }
+    
+    public String getCustomerCode() {
+        return customerCode;
+    }
+    
+    public void setCustomerCode(String customerCode) {
+        this.customerCode = customerCode;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.securecustomerapi.dto;
+
+import java.util.List;
+
+import com.example.securecustomerapi.entity.Role;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class BulkUserRoleDTO {
+    
+    @NotEmpty(message = "At least one user id is required")
+    @Size(max = 1000, message = "At most 1000 user ids per request")
+    private List<Long> ids;
+    
+    @NotNull(message = "Role is required")
+    private Role role;
+    
+    // Constructors
+    public BulkUserRoleDTO() {
+    }
+    
+    public BulkUserRoleDTO(List<Long> ids, Role role) {
+        this.ids = ids;
+        this.role = role;
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public Role getRole() {
+        return role;
+    }
+    
+    public void setRole(Role role) {
+        this.role = role;
+    }
+}
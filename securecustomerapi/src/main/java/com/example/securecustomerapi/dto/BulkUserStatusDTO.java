@@ -0,0 +1,43 @@
+package com.example.securecustomerapi.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class BulkUserStatusDTO {
+    
+    @NotEmpty(message = "At least one user id is required")
+    @Size(max = 1000, message = "At most 1000 user ids per request")
+    private List<Long> ids;
+    
+    @NotNull(message = "Active flag is required")
+    private Boolean active;
+    
+    // Constructors
+    public BulkUserStatusDTO() {
+    }
+    
+    public BulkUserStatusDTO(List<Long> ids, Boolean active) {
+        this.ids = ids;
+        this.active = active;
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public Boolean getActive() {
+        return active;
+    }
+    
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.securecustomerapi.dto;
+
+public class CustomerFilterDTO {
+    
+    // Prefix match on full name
+    private String name;
+    
+    // Prefix match on email
+    private String email;
+    
+    // Exact match: ACTIVE or INACTIVE
+    private String status;
+    
+    // Constructors
+    public CustomerFilterDTO() {
+    }
+    
+    public CustomerFilterDTO(String name, String email, String status) {
+        this.name = name;
+        this.email = email;
+        this.status = status;
+    }
+    
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public void setEmail(String email) {
+        this.email = email;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
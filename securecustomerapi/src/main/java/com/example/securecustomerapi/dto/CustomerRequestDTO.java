@@ -28,6 +28,9 @@ public class CustomerRequestDTO {
     
     private String status;
     
+    // Version the client last read; when present, PUT becomes one id + version conditioned UPDATE
+    private Long version;
+    
     // Constructors
     public CustomerRequestDTO() {
     }
@@ -88,4 +91,12 @@ public class CustomerRequestDTO {
     public void setStatus(String status) {
         this.status = status;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
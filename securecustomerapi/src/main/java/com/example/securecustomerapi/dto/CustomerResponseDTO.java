@@ -2,6 +2,8 @@ package com.example.securecustomerapi.dto;
 
 import java.time.LocalDateTime;
 
+import com.example.securecustomerapi.entity.CustomerStatus;
+
 public class CustomerResponseDTO {
     
     private Long id;
@@ -12,6 +14,8 @@ public class CustomerResponseDTO {
     private String address;
     private String status;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
     
     // Constructors
     public CustomerResponseDTO() {
@@ -29,6 +33,15 @@ public class CustomerResponseDTO {
         this.createdAt = createdAt;
     }
     
+    // Used by JPQL constructor expressions (see CustomerRepository.RESPONSE_PROJECTION)
+    public CustomerResponseDTO(Long id, String customerCode, String fullName, String email, 
+                              String phone, String address, CustomerStatus status,
+                              LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, customerCode, fullName, email, phone, address, status.toString(), createdAt);
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -93,4 +106,20 @@ public class CustomerResponseDTO {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
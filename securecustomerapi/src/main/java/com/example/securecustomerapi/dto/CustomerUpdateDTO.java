@@ -18,6 +18,9 @@ public class CustomerUpdateDTO {
     @Size(max = 500, message = "Address too long")
     private String address;
     
+    // Version the client last read; when present, the patch is one id + version conditioned UPDATE
+    private Long version;
+    
     // Constructors
     public CustomerUpdateDTO() {
     }
@@ -61,4 +64,12 @@ public class CustomerUpdateDTO {
     public void setAddress(String address) {
         this.address = address;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
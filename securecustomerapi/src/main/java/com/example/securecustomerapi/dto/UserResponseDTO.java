@@ -2,6 +2,8 @@ package com.example.securecustomerapi.dto;
 
 import java.time.LocalDateTime;
 
+import com.example.securecustomerapi.entity.Role;
+
 public class UserResponseDTO {
     
     private Long id;
@@ -27,6 +29,12 @@ public class UserResponseDTO {
         this.createdAt = createdAt;
     }
     
+    // Used by the admin listing projection (see UserRepositoryImpl.findPageAfterId)
+    public UserResponseDTO(Long id, String username, String email, String fullName,
+                          Role role, Boolean isActive, LocalDateTime createdAt) {
+        this(id, username, email, fullName, role.name(), isActive, createdAt);
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
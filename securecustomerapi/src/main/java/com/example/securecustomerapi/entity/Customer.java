@@ -2,6 +2,13 @@ package com.example.securecustomerapi.entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -9,18 +16,33 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "customers")
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@Table(name = "customers", indexes = {
+    // Keyset pagination on (created_at, id)
+    @Index(name = "idx_customers_created_at_id", columnList = "created_at, id"),
+    // Advanced search: status equality (leftmost prefix) and status + newest-first ordering
+    @Index(name = "idx_customers_status_created_at", columnList = "status, created_at"),
+    // Advanced search: name prefix matches
+    @Index(name = "idx_customers_full_name", columnList = "full_name")
+})
 public class Customer {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // Immutable after creation; resolved through the natural-id cache
+    @NaturalId
     @Column(name = "customer_code", unique = true, nullable = false, length = 20)
     private String customerCode;
     
@@ -40,12 +62,18 @@ public class Customer {
     @Column(nullable = false, length = 20)
     private CustomerStatus status = CustomerStatus.ACTIVE;
     
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Optimistic lock: Hibernate adds "AND version = ?" to every entity UPDATE/DELETE.
+    // JPQL bulk updates bump it explicitly.
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -141,4 +169,12 @@ public class Customer {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,103 @@
+package com.example.securecustomerapi.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "password_reset_tokens", indexes = {
+    // Lookup and consumption by digest
+    @Index(name = "uk_password_reset_tokens_token_hash", columnList = "token_hash", unique = true),
+    // Chunked purge of expired tokens (ExpiredTokenReaper)
+    @Index(name = "idx_password_reset_tokens_expiry_date", columnList = "expiry_date")
+})
+public class PasswordResetToken {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    // SHA-256 of the raw token (see TokenHasher); the raw token is never stored
+    @Column(name = "token_hash", nullable = false, columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
+    
+    @Column(name = "expiry_date", nullable = false)
+    private LocalDateTime expiryDate;
+    
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public PasswordResetToken() {
+    }
+    
+    public PasswordResetToken(User user, byte[] tokenHash, LocalDateTime expiryDate) {
+        this.user = user;
+        this.tokenHash = tokenHash;
+        this.expiryDate = expiryDate;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public void setUser(User user) {
+        this.user = user;
+    }
+    
+    public byte[] getTokenHash() {
+        return tokenHash;
+    }
+    
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+    
+    public LocalDateTime getExpiryDate() {
+        return expiryDate;
+    }
+    
+    public void setExpiryDate(LocalDateTime expiryDate) {
+        this.expiryDate = expiryDate;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public boolean isExpired() {
+        return LocalDateTime.now().isAfter(this.expiryDate);
+    }
+}
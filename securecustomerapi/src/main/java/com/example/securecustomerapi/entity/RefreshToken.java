@@ -4,28 +4,43 @@ import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+    // Lookup and rotation by digest
+    @Index(name = "uk_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+    // Reuse detection: a presented token that was already rotated away
+    @Index(name = "idx_refresh_tokens_previous_hash", columnList = "previous_hash"),
+    // Chunked purge of expired tokens (ExpiredTokenReaper)
+    @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiry_date")
+})
 public class RefreshToken {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
-    @ManyToOne
+    // Only the id is needed on the refresh path; the user is loaded on demand
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
-    @Column(unique = true, nullable = false, length = 500)
-    private String token;
+    // SHA-256 of the raw token (see TokenHasher); the raw token is never stored
+    @Column(name = "token_hash", nullable = false, columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
+    
+    // Digest of the token this one replaced
+    @Column(name = "previous_hash", columnDefinition = "BINARY(32)")
+    private byte[] previousHash;
     
     @Column(name = "expiry_date", nullable = false)
     private LocalDateTime expiryDate;
@@ -42,9 +57,9 @@ public class RefreshToken {
     public RefreshToken() {
     }
     
-    public RefreshToken(User user, String token, LocalDateTime expiryDate) {
+    public RefreshToken(User user, byte[] tokenHash, LocalDateTime expiryDate) {
         this.user = user;
-        this.token = token;
+        this.tokenHash = tokenHash;
         this.expiryDate = expiryDate;
     }
     
@@ -65,12 +80,20 @@ public class RefreshToken {
         this.user = user;
     }
     
-    public String getToken() {
-        return token;
+    public byte[] getTokenHash() {
+        return tokenHash;
+    }
+    
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+    
+    public byte[] getPreviousHash() {
+        return previousHash;
     }
     
-    public void setToken(String token) {
-        this.token = token;
+    public void setPreviousHash(byte[] previousHash) {
+        this.previousHash = previousHash;
     }
     
     public LocalDateTime getExpiryDate() {
@@ -0,0 +1,83 @@
+package com.example.securecustomerapi.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+// Access token revoked before its expiry (logout), keyed by its jti claim.
+// Rows are only needed until the token would have expired anyway.
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    // Incremental sync of the in-memory revocation list
+    @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at"),
+    // Chunked purge (ExpiredTokenReaper)
+    @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+    
+    @Id
+    @Column(length = 36)
+    private String jti;
+    
+    @Column(nullable = false, length = 50)
+    private String username;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @Column(name = "revoked_at", nullable = false, updatable = false)
+    private LocalDateTime revokedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        this.revokedAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public RevokedToken() {
+    }
+    
+    public RevokedToken(String jti, String username, LocalDateTime expiresAt) {
+        this.jti = jti;
+        this.username = username;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Getters and Setters
+    public String getJti() {
+        return jti;
+    }
+    
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+    
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+    
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
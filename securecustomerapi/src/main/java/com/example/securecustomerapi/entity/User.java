@@ -2,6 +2,13 @@ package com.example.securecustomerapi.entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -9,18 +16,33 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "users")
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@Table(name = "users", indexes = {
+    // Admin listing: role/active filters walked in id (keyset) order
+    @Index(name = "idx_users_role_active_id", columnList = "role, is_active, id"),
+    // Admin listing: created-after filter
+    @Index(name = "idx_users_created_at", columnList = "created_at"),
+    // TokenVersionRegistry polling
+    @Index(name = "idx_users_updated_at", columnList = "updated_at")
+})
 public class User {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // Immutable after registration; resolved through the natural-id cache
+    @NaturalId
     @Column(unique = true, nullable = false, length = 50)
     private String username;
     
@@ -46,11 +68,15 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
-    @Column(name = "reset_token")
-    private String resetToken;
+    // Optimistic lock for load-then-save paths such as profile edits;
+    // the JPQL updates in UserRepository increment it themselves
+    @Version
+    @Column(nullable = false)
+    private Long version;
     
-    @Column(name = "reset_token_expiry")
-    private LocalDateTime resetTokenExpiry;
+    // Bumped on role/status changes so previously issued JWTs become stale
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion = 0;
     
     @PrePersist
     protected void onCreate() {
@@ -148,19 +174,19 @@ public class User {
         this.updatedAt = updatedAt;
     }
     
-    public String getResetToken() {
-        return resetToken;
+    public int getTokenVersion() {
+        return tokenVersion;
     }
     
-    public void setResetToken(String resetToken) {
-        this.resetToken = resetToken;
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
     }
     
-    public LocalDateTime getResetTokenExpiry() {
-        return resetTokenExpiry;
+    public Long getVersion() {
+        return version;
     }
     
-    public void setResetTokenExpiry(LocalDateTime resetTokenExpiry) {
-        this.resetTokenExpiry = resetTokenExpiry;
+    public void setVersion(Long version) {
+        this.version = version;
     }
 }
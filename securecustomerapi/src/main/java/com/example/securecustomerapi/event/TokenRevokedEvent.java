@@ -0,0 +1,23 @@
+package com.example.securecustomerapi.event;
+
+// Published once a revoked_tokens row has been saved for a logged-out access token.
+// TokenRevocationList adds the jti to its in-memory set only after the transaction commits.
+public class TokenRevokedEvent {
+    
+    private final String jti;
+    
+    private final long expiresAtMillis;
+    
+    public TokenRevokedEvent(String jti, long expiresAtMillis) {
+        this.jti = jti;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+    
+    public String getJti() {
+        return jti;
+    }
+    
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.securecustomerapi.event;
+
+// Published when a user's token version is bumped (role/status change, account deletion).
+// TokenVersionRegistry applies it only after the transaction commits.
+public class TokenVersionChangedEvent {
+    
+    private final String username;
+    
+    private final int tokenVersion;
+    
+    public TokenVersionChangedEvent(String username, int tokenVersion) {
+        this.username = username;
+        this.tokenVersion = tokenVersion;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+}
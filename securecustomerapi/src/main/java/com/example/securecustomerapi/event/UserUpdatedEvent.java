@@ -0,0 +1,16 @@
+package com.example.securecustomerapi.event;
+
+// Published whenever a user's credentials, role, status or profile change,
+// so cached authentication data for that user can be dropped
+public class UserUpdatedEvent {
+    
+    private final String username;
+    
+    public UserUpdatedEvent(String username) {
+        this.username = username;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.securecustomerapi.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
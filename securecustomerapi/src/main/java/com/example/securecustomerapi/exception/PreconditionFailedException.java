@@ -0,0 +1,8 @@
+package com.example.securecustomerapi.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
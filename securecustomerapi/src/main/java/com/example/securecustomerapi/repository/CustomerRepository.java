@@ -1,20 +1,33 @@
 package com.example.securecustomerapi.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.securecustomerapi.dto.CustomerResponseDTO;
 import com.example.securecustomerapi.entity.Customer;
 import com.example.securecustomerapi.entity.CustomerStatus;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerRepositoryCustom {
     
-    Optional<Customer> findByCustomerCode(String customerCode);
+    // Read paths select straight into the response DTO: no managed entities, no dirty checking
+    String RESPONSE_PROJECTION = "SELECT new com.example.securecustomerapi.dto.CustomerResponseDTO(" +
+                                 "c.id, c.customerCode, c.fullName, c.email, c.phone, c.address, c.status, c.createdAt, c.updatedAt, c.version) " +
+                                 "FROM Customer c ";
     
     Optional<Customer> findByEmail(String email);
     
@@ -22,19 +35,77 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     
     boolean existsByEmail(String email);
     
+    // Query cache: results are reused until the customers table is written through Hibernate
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Customer> findByStatus(CustomerStatus status);
     
-    @Query("SELECT c FROM Customer c WHERE " +
+    // Bulk import: which of these codes/emails are already taken, in one round-trip
+    @Query("SELECT c.customerCode, c.email FROM Customer c WHERE c.customerCode IN :codes OR c.email IN :emails")
+    List<Object[]> findExistingCodesAndEmails(@Param("codes") Collection<String> codes,
+                                              @Param("emails") Collection<String> emails);
+    
+    // Bulk operations: one statement per chunk of ids. @PreUpdate and @Version do not apply to JPQL
+    // updates, so updatedAt and version are set explicitly; rows already in the target status are not touched.
+    @Modifying
+    @Query("UPDATE Customer c SET c.status = :status, c.updatedAt = :now, c.version = c.version + 1 " +
+           "WHERE c.id IN :ids AND c.status <> :status")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("status") CustomerStatus status,
+                           @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("DELETE FROM Customer c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(RESPONSE_PROJECTION + "WHERE c.id = :id")
+    Optional<CustomerResponseDTO> findResponseById(@Param("id") Long id);
+    
+    @Query(RESPONSE_PROJECTION + "WHERE c.id IN :ids")
+    List<CustomerResponseDTO> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Batch get by code: one IN lookup on the unique customer_code index
+    @Query(RESPONSE_PROJECTION + "WHERE c.customerCode IN :codes")
+    List<CustomerResponseDTO> findResponsesByCustomerCodeIn(@Param("codes") Collection<String> codes);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(RESPONSE_PROJECTION + "WHERE c.status = :status ORDER BY c.id")
+    List<CustomerResponseDTO> findResponsesByStatus(@Param("status") CustomerStatus status);
+    
+    @Query(RESPONSE_PROJECTION + "WHERE " +
            "LOWER(c.fullName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(c.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
            "LOWER(c.customerCode) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Customer> searchCustomers(@Param("keyword") String keyword);
-    
-    @Query("SELECT c FROM Customer c WHERE " +
-           "(:name IS NULL OR LOWER(c.fullName) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
-           "(:email IS NULL OR LOWER(c.email) LIKE LOWER(CONCAT('%', :email, '%'))) AND " +
-           "(:status IS NULL OR LOWER(c.status) = LOWER(:status))")
-    List<Customer> advancedSearch(@Param("name") String name, 
-                                  @Param("email") String email, 
-                                  @Param("status") String status);
+    List<CustomerResponseDTO> searchCustomers(@Param("keyword") String keyword, Pageable pageable);
+    
+    // Ranked search over the ft_customers_search FULLTEXT index (created by migration V1).
+    // :query is a MySQL boolean-mode expression. Returns ids in rank order; load rows with findResponsesByIdIn.
+    @Query(value = "SELECT id FROM customers " +
+                   "WHERE MATCH(full_name, email, customer_code) AGAINST (:query IN BOOLEAN MODE) " +
+                   "ORDER BY MATCH(full_name, email, customer_code) AGAINST (:query IN BOOLEAN MODE) DESC, id",
+           nativeQuery = true)
+    List<Long> fullTextSearchIds(@Param("query") String query, Pageable pageable);
+    
+    // Full-table export. Integer.MIN_VALUE makes MySQL Connector/J stream rows one by one
+    // instead of buffering the whole result set; must be consumed inside a transaction.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESPONSE_PROJECTION + "ORDER BY c.id")
+    Stream<CustomerResponseDTO> streamAllOrderById();
+    
+    // Keyset pagination: seek past the last row of the previous page instead of using OFFSET
+    
+    @Query(RESPONSE_PROJECTION + "WHERE c.id > :afterId ORDER BY c.id ASC")
+    List<CustomerResponseDTO> findPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query(RESPONSE_PROJECTION + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CustomerResponseDTO> findFirstPageByCreatedAt(Pageable pageable);
+    
+    @Query(RESPONSE_PROJECTION + "WHERE " +
+           "c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CustomerResponseDTO> findPageBeforeCreatedAt(@Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
 }
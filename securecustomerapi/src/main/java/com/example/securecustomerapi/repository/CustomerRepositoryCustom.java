@@ -0,0 +1,50 @@
+package com.example.securecustomerapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+
+import com.example.securecustomerapi.dto.CustomerResponseDTO;
+import com.example.securecustomerapi.entity.Customer;
+import com.example.securecustomerapi.entity.CustomerStatus;
+
+public interface CustomerRepositoryCustom {
+    
+    // Natural-id lookup: served from the natural-id and entity caches when warm
+    Optional<Customer> findByCustomerCode(String customerCode);
+    
+    // Null filters are left out of the generated SQL entirely
+    List<CustomerResponseDTO> advancedSearch(String namePrefix, String emailPrefix, CustomerStatus status, Pageable pageable);
+    
+    // Next chunk of ids matching the filter, seeking past afterId in primary key order
+    List<Long> findIdsAfter(Long afterId, String namePrefix, String emailPrefix, CustomerStatus status, int limit);
+    
+    // Single UPDATE setting only the non-null fields on the given ids; returns the affected row count
+    int patchByIdIn(Collection<Long> ids, String fullName, String phone, String address,
+                    CustomerStatus status, LocalDateTime now);
+    
+    // Single UPDATE/DELETE of one row conditioned on id + version; 0 means missing or stale.
+    // Plain JDBC, so Hibernate does not drop the whole Customer region as it would for a bulk statement:
+    // call evictCached(id) once the transaction has committed.
+    int updateIfVersion(Long id, Long version, String fullName, String email, String phone, String address,
+                        LocalDateTime now);
+    
+    // As updateIfVersion, writing only the non-null fields
+    int patchIfVersion(Long id, Long version, String fullName, String email, String phone, String address,
+                       LocalDateTime now);
+    
+    int deleteIfVersion(Long id, Long version);
+    
+    // Drops one customer from the second-level cache and invalidates cached customer queries,
+    // which is what Hibernate does itself after an entity write
+    void evictCached(Long id);
+    
+    // Plain JDBC batch insert (IDENTITY ids prevent Hibernate from batching); ids are not read back
+    void batchInsert(List<Customer> customers);
+    
+    // Drops cached query results; call after writes that bypass Hibernate (batchInsert) have committed
+    void evictCachedQueries();
+}
@@ -0,0 +1,252 @@
+package com.example.securecustomerapi.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.securecustomerapi.dto.CustomerResponseDTO;
+import com.example.securecustomerapi.entity.Customer;
+import com.example.securecustomerapi.entity.CustomerStatus;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+    
+    private static final char LIKE_ESCAPE = '\\';
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO customers (customer_code, full_name, email, phone, address, status, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    
+    private static final String[] CUSTOMERS_QUERY_SPACE = {"customers"};
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Customer> findByCustomerCode(String customerCode) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Customer.class)
+                .loadOptional(customerCode);
+    }
+    
+    @Override
+    public List<CustomerResponseDTO> advancedSearch(String namePrefix, String emailPrefix, CustomerStatus status, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CustomerResponseDTO> query = cb.createQuery(CustomerResponseDTO.class);
+        Root<Customer> customer = query.from(Customer.class);
+        
+        query.select(toResponse(cb, customer))
+                .where(buildFilters(cb, customer, namePrefix, emailPrefix, status))
+                .orderBy(pageable.getSort().isSorted()
+                        ? QueryUtils.toOrders(pageable.getSort(), customer, cb)
+                        : List.of(cb.desc(customer.get("createdAt")), cb.desc(customer.get("id"))));
+        
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+    
+    @Override
+    public List<Long> findIdsAfter(Long afterId, String namePrefix, String emailPrefix, CustomerStatus status, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Customer> customer = query.from(Customer.class);
+        
+        List<Predicate> predicates = new ArrayList<>(List.of(buildFilters(cb, customer, namePrefix, emailPrefix, status)));
+        predicates.add(cb.greaterThan(customer.get("id"), afterId));
+        
+        query.select(customer.get("id"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(customer.get("id")));
+        
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    
+    @Override
+    public int patchByIdIn(Collection<Long> ids, String fullName, String phone, String address,
+                           CustomerStatus status, LocalDateTime now) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Customer> update = cb.createCriteriaUpdate(Customer.class);
+        Root<Customer> customer = update.from(Customer.class);
+        
+        if (fullName != null) {
+            update.set(customer.<String>get("fullName"), fullName);
+        }
+        if (phone != null) {
+            update.set(customer.<String>get("phone"), phone);
+        }
+        if (address != null) {
+            update.set(customer.<String>get("address"), address);
+        }
+        if (status != null) {
+            update.set(customer.<CustomerStatus>get("status"), status);
+        }
+        update.set(customer.<LocalDateTime>get("updatedAt"), now);
+        update.set(customer.<Long>get("version"), cb.sum(customer.<Long>get("version"), 1L));
+        update.where(customer.get("id").in(ids));
+        
+        return entityManager.createQuery(update).executeUpdate();
+    }
+    
+    @Override
+    public int updateIfVersion(Long id, Long version, String fullName, String email, String phone, String address,
+                               LocalDateTime now) {
+        return jdbcTemplate.update(
+                "UPDATE customers SET full_name = ?, email = ?, phone = ?, address = ?, updated_at = ?, " +
+                "version = version + 1 WHERE id = ? AND version = ?",
+                fullName, email, phone, address, Timestamp.valueOf(now), id, version);
+    }
+    
+    @Override
+    public int patchIfVersion(Long id, Long version, String fullName, String email, String phone, String address,
+                              LocalDateTime now) {
+        StringBuilder sql = new StringBuilder("UPDATE customers SET ");
+        List<Object> args = new ArrayList<>();
+        
+        if (fullName != null) {
+            sql.append("full_name = ?, ");
+            args.add(fullName);
+        }
+        if (email != null) {
+            sql.append("email = ?, ");
+            args.add(email);
+        }
+        if (phone != null) {
+            sql.append("phone = ?, ");
+            args.add(phone);
+        }
+        if (address != null) {
+            sql.append("address = ?, ");
+            args.add(address);
+        }
+        sql.append("updated_at = ?, version = version + 1 WHERE id = ? AND version = ?");
+        args.add(Timestamp.valueOf(now));
+        args.add(id);
+        args.add(version);
+        
+        return jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+    
+    @Override
+    public int deleteIfVersion(Long id, Long version) {
+        return jdbcTemplate.update("DELETE FROM customers WHERE id = ? AND version = ?", id, version);
+    }
+    
+    @Override
+    public void evictCached(Long id) {
+        SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class);
+        sessionFactory.getCache().evict(Customer.class, id);
+        // Same timestamp bump a flushed entity update makes: cached queries over customers go stale,
+        // other query results (users) are left alone
+        sessionFactory.getCache().getTimestampsCache().invalidate(CUSTOMERS_QUERY_SPACE,
+                entityManager.unwrap(SharedSessionContractImplementor.class));
+    }
+    
+    // With rewriteBatchedStatements=true the driver sends each batch as one multi-row INSERT
+    @Override
+    public void batchInsert(List<Customer> customers) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Customer customer = customers.get(i);
+                ps.setString(1, customer.getCustomerCode());
+                ps.setString(2, customer.getFullName());
+                ps.setString(3, customer.getEmail());
+                ps.setString(4, customer.getPhone());
+                ps.setString(5, customer.getAddress());
+                ps.setString(6, customer.getStatus().name());
+                ps.setTimestamp(7, now);
+                ps.setTimestamp(8, now);
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return customers.size();
+            }
+        });
+    }
+    
+    @Override
+    public void evictCachedQueries() {
+        entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getCache()
+                .evictQueryRegions();
+    }
+    
+    private CompoundSelection<CustomerResponseDTO> toResponse(CriteriaBuilder cb, Root<Customer> customer) {
+        return cb.construct(CustomerResponseDTO.class,
+                customer.get("id"),
+                customer.get("customerCode"),
+                customer.get("fullName"),
+                customer.get("email"),
+                customer.get("phone"),
+                customer.get("address"),
+                customer.get("status"),
+                customer.get("createdAt"),
+                customer.get("updatedAt"),
+                customer.get("version"));
+    }
+    
+    // Status binds as an enum equality and names/emails as prefix LIKEs (no LOWER, no leading
+    // wildcard), so MySQL can use idx_customers_status_created_at, idx_customers_full_name and
+    // the unique email index. The column collation is already case-insensitive.
+    private Predicate[] buildFilters(CriteriaBuilder cb, Root<Customer> customer,
+                                     String namePrefix, String emailPrefix, CustomerStatus status) {
+        List<Predicate> predicates = new ArrayList<>();
+        
+        if (status != null) {
+            predicates.add(cb.equal(customer.get("status"), status));
+        }
+        if (namePrefix != null && !namePrefix.isBlank()) {
+            predicates.add(cb.like(customer.get("fullName"), toPrefixPattern(namePrefix), LIKE_ESCAPE));
+        }
+        if (emailPrefix != null && !emailPrefix.isBlank()) {
+            predicates.add(cb.like(customer.get("email"), toPrefixPattern(emailPrefix), LIKE_ESCAPE));
+        }
+        
+        return predicates.toArray(new Predicate[0]);
+    }
+    
+    private String toPrefixPattern(String prefix) {
+        String escaped = prefix.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+}
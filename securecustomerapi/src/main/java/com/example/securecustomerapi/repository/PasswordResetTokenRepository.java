@@ -0,0 +1,29 @@
+package com.example.securecustomerapi.repository;
+
+import com.example.securecustomerapi.entity.PasswordResetToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
+    
+    // Single read through the unique token_hash index
+    Optional<PasswordResetToken> findByTokenHash(byte[] tokenHash);
+    
+    // One outstanding reset token per user
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+    
+    // Atomic consumption: of two concurrent resets with the same token only one deletes the row,
+    // and an expired token never matches
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken t WHERE t.tokenHash = :tokenHash AND t.expiryDate > :now")
+    int consume(@Param("tokenHash") byte[] tokenHash, @Param("now") LocalDateTime now);
+}
@@ -3,16 +3,42 @@ package com.example.securecustomerapi.repository;
 import com.example.securecustomerapi.entity.RefreshToken;
 import com.example.securecustomerapi.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
     
     void deleteByUser(User user);
     
+    // Single DELETE statement (the derived deleteByUser loads each row first)
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+    
     Optional<RefreshToken> findByUser(User user);
+    
+    // Atomic rotation through the unique token_hash index: only one of two concurrent
+    // refreshes with the same token can match, and an expired token never does
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.tokenHash = :newHash, r.previousHash = :oldHash, r.expiryDate = :expiryDate " +
+           "WHERE r.tokenHash = :oldHash AND r.expiryDate > :now")
+    int rotate(@Param("oldHash") byte[] oldHash,
+               @Param("newHash") byte[] newHash,
+               @Param("expiryDate") LocalDateTime expiryDate,
+               @Param("now") LocalDateTime now);
+    
+    // User id only, without joining users
+    @Query("SELECT r.user.id FROM RefreshToken r WHERE r.tokenHash = :tokenHash")
+    Optional<Long> findUserIdByTokenHash(@Param("tokenHash") byte[] tokenHash);
+    
+    @Query("SELECT r.user.id FROM RefreshToken r WHERE r.previousHash = :previousHash")
+    Optional<Long> findUserIdByPreviousHash(@Param("previousHash") byte[] previousHash);
 }
@@ -0,0 +1,18 @@
+package com.example.securecustomerapi.repository;
+
+import com.example.securecustomerapi.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    
+    // Startup load: everything that still matters
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+    
+    // Periodic sync: revocations made by any instance since the last poll
+    List<RevokedToken> findByRevokedAtGreaterThanEqual(LocalDateTime since);
+}
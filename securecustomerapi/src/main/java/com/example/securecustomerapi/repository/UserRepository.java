@@ -1,22 +1,85 @@
 package com.example.securecustomerapi.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.securecustomerapi.entity.Role;
 import com.example.securecustomerapi.entity.User;
 
+import jakarta.persistence.QueryHint;
+
+// findByUsername lives in UserRepositoryCustom (natural-id cache)
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     
+    // Email is unique but mutable, so it cannot be a second natural id; cache the query instead
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     
     Boolean existsByUsername(String username);
     
     Boolean existsByEmail(String email);
     
-    Optional<User> findByResetToken(String resetToken);
+    List<User> findByTokenVersionGreaterThan(int tokenVersion);
+    
+    // Rehash-on-login: swaps the hash without loading the entity (also evicts the User cache region)
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password, u.version = u.version + 1 WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+    
+    // Admin role/status changes: one conditional UPDATE each, so concurrent admins cannot lose
+    // an update between a read and a save. Each change bumps tokenVersion (stale JWTs) and sets
+    // updatedAt explicitly, since @PreUpdate does not run for JPQL updates. The persistence
+    // context is cleared so the read-back sees the new row.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.isActive = CASE WHEN u.isActive = true THEN false ELSE true END, " +
+           "u.tokenVersion = u.tokenVersion + 1, u.version = u.version + 1, u.updatedAt = :now WHERE u.id = :id")
+    int toggleActive(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.role = :role, u.tokenVersion = u.tokenVersion + 1, u.version = u.version + 1, " +
+           "u.updatedAt = :now WHERE u.id = :id")
+    int updateRole(@Param("id") Long id, @Param("role") Role role, @Param("now") LocalDateTime now);
+    
+    // Bulk variants skip rows already in the target state, so their tokens stay valid
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.isActive = :active, u.tokenVersion = u.tokenVersion + 1, u.version = u.version + 1, " +
+           "u.updatedAt = :now WHERE u.id IN :ids AND u.isActive <> :active")
+    int updateActiveByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("active") boolean active,
+                           @Param("now") LocalDateTime now);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.role = :role, u.tokenVersion = u.tokenVersion + 1, u.version = u.version + 1, " +
+           "u.updatedAt = :now WHERE u.id IN :ids AND u.role <> :role")
+    int updateRoleByIdIn(@Param("ids") Collection<Long> ids,
+                         @Param("role") Role role,
+                         @Param("now") LocalDateTime now);
+    
+    // Username and token version only, to refresh TokenVersionRegistry and user caches after a bulk change
+    List<TokenVersionView> findByIdIn(Collection<Long> ids);
+    
+    // TokenVersionRegistry sync: version bumps made by any instance since the last poll
+    List<TokenVersionView> findByUpdatedAtGreaterThanEqualAndTokenVersionGreaterThan(LocalDateTime since, int tokenVersion);
+    
+    // CustomUserDetailsService sync: users changed by any instance since the last poll
+    @Query("SELECT u.username FROM User u WHERE u.updatedAt >= :since")
+    List<String> findUsernamesUpdatedSince(@Param("since") LocalDateTime since);
+    
+    interface TokenVersionView {
+        
+        String getUsername();
+        
+        int getTokenVersion();
+    }
 }
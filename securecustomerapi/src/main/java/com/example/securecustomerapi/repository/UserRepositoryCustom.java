@@ -0,0 +1,19 @@
+package com.example.securecustomerapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.example.securecustomerapi.dto.UserResponseDTO;
+import com.example.securecustomerapi.entity.Role;
+import com.example.securecustomerapi.entity.User;
+
+public interface UserRepositoryCustom {
+    
+    // Natural-id lookup: served from the natural-id and entity caches when warm
+    Optional<User> findByUsername(String username);
+    
+    // Keyset page ordered by id; null filters are ignored. Never selects password columns.
+    List<UserResponseDTO> findPageAfterId(Long afterId, Role role, Boolean active,
+                                          LocalDateTime createdAfter, String usernamePrefix, int limit);
+}
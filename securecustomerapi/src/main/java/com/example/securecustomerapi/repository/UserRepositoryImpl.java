@@ -0,0 +1,84 @@
+package com.example.securecustomerapi.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.securecustomerapi.dto.UserResponseDTO;
+import com.example.securecustomerapi.entity.Role;
+import com.example.securecustomerapi.entity.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    
+    private static final char LIKE_ESCAPE = '\\';
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Fragment methods don't inherit SimpleJpaRepository's read-only transaction
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserResponseDTO> findPageAfterId(Long afterId, Role role, Boolean active,
+                                                 LocalDateTime createdAfter, String usernamePrefix, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserResponseDTO> query = cb.createQuery(UserResponseDTO.class);
+        Root<User> user = query.from(User.class);
+        
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.greaterThan(user.get("id"), afterId));
+        if (role != null) {
+            predicates.add(cb.equal(user.get("role"), role));
+        }
+        if (active != null) {
+            predicates.add(cb.equal(user.get("isActive"), active));
+        }
+        if (createdAfter != null) {
+            predicates.add(cb.greaterThan(user.get("createdAt"), createdAfter));
+        }
+        if (usernamePrefix != null && !usernamePrefix.isBlank()) {
+            predicates.add(cb.like(user.get("username"), toPrefixPattern(usernamePrefix), LIKE_ESCAPE));
+        }
+        
+        query.select(cb.construct(UserResponseDTO.class,
+                        user.get("id"),
+                        user.get("username"),
+                        user.get("email"),
+                        user.get("fullName"),
+                        user.get("role"),
+                        user.get("isActive"),
+                        user.get("createdAt")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(user.get("id")));
+        
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+    
+    private String toPrefixPattern(String prefix) {
+        String escaped = prefix.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.securecustomerapi.security;
 
 import com.example.securecustomerapi.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -15,6 +19,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -25,6 +30,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
     
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+    
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+    
+    // Build the principal from token claims instead of loading the user on every request
+    @Value("${jwt.stateless-principal.enabled:false}")
+    private boolean statelessPrincipal;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                    HttpServletResponse response, 
@@ -32,17 +47,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            // Verify once and read the subject from the same parsed claims
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt) : null;
+            
+            // Logged-out tokens (in-memory jti lookup, no query)
+            if (claims != null && tokenRevocationList.isRevoked(claims.getId())) {
+                claims = null;
+            }
+            
+            if (claims != null) {
+                String username = claims.getSubject();
                 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                UserDetails userDetails = statelessPrincipal
+                        ? getUserDetailsFromClaims(claims)
+                        : customUserDetailsService.loadUserByUsername(username);
                 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication = 
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -51,6 +78,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    // Returns null when the token is for an inactive user or its version is stale
+    private UserDetails getUserDetailsFromClaims(Claims claims) {
+        String username = claims.getSubject();
+        String role = claims.get(JwtTokenProvider.CLAIM_ROLE, String.class);
+        Integer version = claims.get(JwtTokenProvider.CLAIM_VERSION, Integer.class);
+        
+        // Tokens issued before the claims were embedded fall back to the database
+        if (role == null || version == null) {
+            return customUserDetailsService.loadUserByUsername(username);
+        }
+        
+        if (!Boolean.TRUE.equals(claims.get(JwtTokenProvider.CLAIM_ACTIVE, Boolean.class))
+                || !tokenVersionRegistry.isCurrent(username, version)) {
+            return null;
+        }
+        
+        return new User(username, "", Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+    
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         
@@ -1,7 +1,14 @@
 package com.example.securecustomerapi.security;
 
+import com.example.securecustomerapi.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,65 +17,149 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
     
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
+    
+    public static final String CLAIM_ROLE = "role";
+    
+    public static final String CLAIM_ACTIVE = "active";
+    
+    public static final String CLAIM_VERSION = "ver";
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
     @Value("${jwt.expiration}")
     private long jwtExpiration;
     
+    // 0 disables the verified-claims cache
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+    
+    private SecretKey signingKey;
+    
+    private JwtParser jwtParser;
+    
+    private Cache<String, Claims> verifiedClaims;
+    
+    // Build the signing key, parser and claims cache once instead of per call
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        
+        if (claimsCacheMaxSize > 0) {
+            verifiedClaims = Caffeine.newBuilder()
+                    .maximumSize(claimsCacheMaxSize)
+                    .expireAfter(new ClaimsExpiry())
+                    .build();
+        }
+    }
+    
     // Generate JWT token
     public String generateToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
         
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(key)
+                .signWith(signingKey)
                 .compact();
     }
     
-    // Get username from token
-    public String getUsernameFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // Generate JWT token carrying role, active flag and token version,
+    // so the filter can rebuild the principal without loading the user
+    public String generateToken(User user) {
+        return generateToken(user.getUsername(), user.getRole().name(), user.getIsActive(), user.getTokenVersion());
+    }
+    
+    // Same claims from the authenticated principal, without loading the entity
+    public String generateToken(UserPrincipal principal) {
+        return generateToken(principal.getUsername(), principal.getRole().name(),
+                principal.isEnabled(), principal.getTokenVersion());
+    }
+    
+    private String generateToken(String username, String role, boolean active, int tokenVersion) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtExpiration);
         
-        return claims.getSubject();
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(username)
+                .claim(CLAIM_ROLE, role)
+                .claim(CLAIM_ACTIVE, active)
+                .claim(CLAIM_VERSION, tokenVersion)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey)
+                .compact();
     }
     
-    // Validate token
-    public boolean validateToken(String token) {
+    // Verify the token and return its claims in a single pass, or null if the token is invalid.
+    // Tokens that already passed verification are served from the cache until they expire.
+    public Claims parseClaims(String token) {
+        if (verifiedClaims != null) {
+            Claims cached = verifiedClaims.getIfPresent(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
             
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
+            if (verifiedClaims != null && claims.getExpiration() != null) {
+                verifiedClaims.put(token, claims);
+            }
             
-            return true;
+            return claims;
         } catch (MalformedJwtException ex) {
-            System.out.println("Invalid JWT token");
+            logger.debug("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
-            System.out.println("Expired JWT token");
+            logger.debug("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
-            System.out.println("Unsupported JWT token");
+            logger.debug("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
-            System.out.println("JWT claims string is empty");
+            logger.debug("JWT claims string is empty");
+        } catch (JwtException ex) {
+            logger.debug("Invalid JWT signature");
+        }
+        return null;
+    }
+    
+    // Validate token
+    public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+    
+    // Cached claims live until the token's own expiration
+    private static class ClaimsExpiry implements Expiry<String, Claims> {
+        
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+        
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+        
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        return false;
     }
 }
@@ -1,7 +1,9 @@
 package com.example.securecustomerapi.security;
 
 import com.example.securecustomerapi.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -30,13 +32,31 @@ public class SecurityConfig {
     
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
-
+    
     @Autowired
     private JwtAccessDeniedHandler jwtAccessDeniedHandler;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+    
+    // 0 = half the available cores
+    @Value("${security.password.hashing.threads:0}")
+    private int hashingThreads;
+    
+    @Value("${security.password.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+    
+    // BCrypt on a bounded pool; the cost is configurable and older hashes are upgraded on login
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = hashingThreads > 0
+                ? hashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength),
+                threads, hashingQueueCapacity, meterRegistry);
     }
     
     @Bean
@@ -48,6 +68,8 @@ public class SecurityConfig {
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hash with the current cost after a successful login if the stored hash is weaker
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
     
@@ -66,9 +88,15 @@ public class SecurityConfig {
                 // Public endpoints
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/customers/**").authenticated()
+                // Batch get is a read, open to every authenticated user
+                .requestMatchers(HttpMethod.POST, "/api/customers/batch-get").authenticated()
                 .requestMatchers(HttpMethod.POST, "/api/customers/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/customers/**").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.PATCH, "/api/customers/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.DELETE, "/api/customers/**").hasRole("ADMIN")
+                // Health (status only) for load balancers; metrics and cache eviction are admin-only
+                .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 // All other requests need authentication
                 .anyRequest().authenticated()
             );
@@ -0,0 +1,33 @@
+package com.example.securecustomerapi.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// Opaque tokens (refresh and password-reset tokens) are handed out raw and stored only as SHA-256 digests:
+// a fixed 32-byte key for the unique index, and a database leak does not reveal usable tokens
+public final class TokenHasher {
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    private TokenHasher() {
+    }
+    
+    // 256 random bits, URL-safe
+    public static String newToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+    
+    // Matches MySQL UNHEX(SHA2(token, 256)) on the UTF-8 token, which migrates legacy rows
+    public static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
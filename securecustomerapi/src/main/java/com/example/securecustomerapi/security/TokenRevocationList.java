@@ -0,0 +1,91 @@
+package com.example.securecustomerapi.security;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.securecustomerapi.entity.RevokedToken;
+import com.example.securecustomerapi.event.TokenRevokedEvent;
+import com.example.securecustomerapi.repository.RevokedTokenRepository;
+
+// Revoked access-token ids (jti) kept in memory, so the per-request check in
+// JwtAuthenticationFilter is a hash lookup and never a query. revoked_tokens is the
+// source of truth: loaded at startup and polled for revocations made by other instances.
+// Entries drop out once the token would have expired anyway.
+@Component
+public class TokenRevocationList {
+    
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    // Revocations committed slightly before the previous poll may become visible after it
+    @Value("${security.revocation.sync-overlap-ms:5000}")
+    private long syncOverlapMillis;
+    
+    // jti -> token expiry (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    
+    private volatile LocalDateTime lastSync;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            remember(token);
+        }
+        lastSync = now;
+    }
+    
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.containsKey(jti);
+    }
+    
+    // Takes effect locally once the caller's transaction commits, like on every other instance
+    public void revoke(String jti, String username, Date expiration) {
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(jti, username, expiresAt));
+        eventPublisher.publishEvent(new TokenRevokedEvent(jti, expiration.getTime()));
+    }
+    
+    // A rolled-back logout never reaches the set, so it stays in step with revoked_tokens
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        revoked.put(event.getJti(), event.getExpiresAtMillis());
+    }
+    
+    @Scheduled(fixedDelayString = "${security.revocation.sync-ms:10000}",
+               initialDelayString = "${security.revocation.sync-ms:10000}")
+    public void sync() {
+        if (lastSync == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (RevokedToken token : revokedTokenRepository.findByRevokedAtGreaterThanEqual(
+                lastSync.minusNanos(syncOverlapMillis * 1_000_000))) {
+            remember(token);
+        }
+        lastSync = now;
+        
+        long nowMillis = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt < nowMillis);
+    }
+    
+    private void remember(RevokedToken token) {
+        revoked.put(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+}
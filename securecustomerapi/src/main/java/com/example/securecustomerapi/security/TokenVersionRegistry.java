@@ -0,0 +1,82 @@
+package com.example.securecustomerapi.security;
+
+import com.example.securecustomerapi.entity.User;
+import com.example.securecustomerapi.event.TokenVersionChangedEvent;
+import com.example.securecustomerapi.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Current token version per user, kept in memory so stateless JWT authentication
+// can reject stale tokens without a database lookup. Only users whose version was
+// ever bumped are tracked; everyone else is implicitly at version 0.
+// Local bumps are applied after commit; bumps made by other instances are picked up
+// by polling users.updated_at, the same way TokenRevocationList follows revoked_tokens.
+@Component
+public class TokenVersionRegistry {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Value("${jwt.stateless-principal.enabled:false}")
+    private boolean statelessPrincipal;
+    
+    // Updates committed slightly before the previous poll may become visible after it
+    @Value("${security.token-version.sync-overlap-ms:5000}")
+    private long syncOverlapMillis;
+    
+    private final Map<String, Integer> versions = new ConcurrentHashMap<>();
+    
+    private volatile LocalDateTime lastSync;
+    
+    // Load bumped versions once at startup so restarts don't revive stale tokens
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadVersions() {
+        if (!statelessPrincipal) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (User user : userRepository.findByTokenVersionGreaterThan(0)) {
+            record(user.getUsername(), user.getTokenVersion());
+        }
+        lastSync = now;
+    }
+    
+    // A rolled-back bump never reaches the registry, so it cannot lock the user out
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTokenVersionChanged(TokenVersionChangedEvent event) {
+        record(event.getUsername(), event.getTokenVersion());
+    }
+    
+    @Scheduled(fixedDelayString = "${security.token-version.sync-ms:10000}",
+               initialDelayString = "${security.token-version.sync-ms:10000}")
+    public void sync() {
+        if (!statelessPrincipal || lastSync == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (UserRepository.TokenVersionView user : userRepository.findByUpdatedAtGreaterThanEqualAndTokenVersionGreaterThan(
+                lastSync.minusNanos(syncOverlapMillis * 1_000_000), 0)) {
+            record(user.getUsername(), user.getTokenVersion());
+        }
+        lastSync = now;
+    }
+    
+    public void record(String username, int version) {
+        versions.merge(username, version, Math::max);
+    }
+    
+    public boolean isCurrent(String username, int version) {
+        Integer current = versions.get(username);
+        return current == null || version >= current;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.securecustomerapi.security;
+
+import java.util.Collections;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import com.example.securecustomerapi.entity.Role;
+
+// UserDetails that also carries what login needs to issue tokens (id, email, role, token
+// version), so the authenticated principal can be used without reading the user again
+public class UserPrincipal extends User {
+    
+    private final Long id;
+    
+    private final String email;
+    
+    private final Role role;
+    
+    private final int tokenVersion;
+    
+    public UserPrincipal(Long id, String username, String email, String password,
+                         boolean enabled, Role role, int tokenVersion) {
+        super(username, password, enabled, true, true, true,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+    }
+    
+    // Same principal with a re-encoded password (rehash-on-login)
+    public UserPrincipal withPassword(String encodedPassword) {
+        return new UserPrincipal(id, getUsername(), email, encodedPassword, isEnabled(), role, tokenVersion);
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public Role getRole() {
+        return role;
+    }
+    
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+}
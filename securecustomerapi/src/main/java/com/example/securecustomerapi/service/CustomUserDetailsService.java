@@ -1,43 +1,135 @@
 package com.example.securecustomerapi.service;
 
+import com.example.securecustomerapi.entity.Role;
 import com.example.securecustomerapi.entity.User;
+import com.example.securecustomerapi.event.UserUpdatedEvent;
 import com.example.securecustomerapi.repository.UserRepository;
+import com.example.securecustomerapi.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.Collection;
-import java.util.Collections;
+import java.time.Duration;
+import java.time.LocalDateTime;
 
+// Caches login-relevant user state (hash, role, active flag). Changes made on this instance evict
+// the entry after commit; changes made on other instances are picked up by polling users.updated_at,
+// so a password, role or status change reaches every instance within one sync interval.
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${security.user-cache.max-size:10000}")
+    private long cacheMaxSize;
+    
+    @Value("${security.user-cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+    
+    // Updates committed slightly before the previous poll may become visible after it
+    @Value("${security.user-cache.sync-overlap-ms:5000}")
+    private long syncOverlapMillis;
+    
+    private Cache<String, CachedUser> userCache;
+    
+    private volatile LocalDateTime lastSync;
+    
+    @PostConstruct
+    public void init() {
+        userCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+        
+        // Exposes cache.gets{result=hit|miss}, cache.evictions, cache.size under cache=userDetails
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "userDetails");
+        
+        // The cache starts empty, so earlier changes are already reflected in whatever gets loaded
+        lastSync = LocalDateTime.now();
+    }
+    
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // getIfPresent + put rather than get(key, loader): the loader would run the JDBC query
+        // inside ConcurrentHashMap.compute (a synchronized bin lock), pinning the carrier thread
+        // under virtual threads. Concurrent misses may load twice, which is harmless here.
+        CachedUser user = userCache.getIfPresent(username);
+        if (user == null) {
+            user = loadFromDatabase(username);
+            userCache.put(username, user);
+        }
+        
+        // A fresh UserDetails per call: callers may erase credentials on the returned instance
+        return new UserPrincipal(
+                user.id(),
+                user.username(),
+                user.email(),
+                user.password(),
+                user.active(),
+                user.role(),
+                user.tokenVersion()
+        );
+    }
+    
+    // Called by DaoAuthenticationProvider after a successful login when the stored hash
+    // uses an older BCrypt cost (upgradeEncoding); newPassword is already encoded
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        userCache.invalidate(user.getUsername());
+        
+        if (user instanceof UserPrincipal principal) {
+            return principal.withPassword(newPassword);
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+    
+    // Drop the cached entry once the change that triggered the event is committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        userCache.invalidate(event.getUsername());
+    }
+    
+    @Scheduled(fixedDelayString = "${security.user-cache.sync-ms:10000}",
+               initialDelayString = "${security.user-cache.sync-ms:10000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        if (userCache.estimatedSize() > 0) {
+            userCache.invalidateAll(userRepository.findUsernamesUpdatedSince(
+                    lastSync.minusNanos(syncOverlapMillis * 1_000_000)));
+        }
+        lastSync = now;
+    }
+    
+    private CachedUser loadFromDatabase(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
         
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.getIsActive(),
-                true,
-                true,
-                true,
-                getAuthorities(user)
-        );
+        return new CachedUser(user.getId(), user.getUsername(), user.getEmail(), user.getPassword(),
+                user.getIsActive(), user.getRole(), user.getTokenVersion());
     }
     
-    private Collection<? extends GrantedAuthority> getAuthorities(User user) {
-        return Collections.singletonList(
-            new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-        );
+    private record CachedUser(Long id, String username, String email, String password,
+                              boolean active, Role role, int tokenVersion) {
     }
 }
@@ -1,11 +1,21 @@
 package com.example.securecustomerapi.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import com.example.securecustomerapi.dto.BatchGetRequestDTO;
+import com.example.securecustomerapi.dto.BatchGetResultDTO;
+import com.example.securecustomerapi.dto.BulkCustomerSelectionDTO;
+import com.example.securecustomerapi.dto.BulkCustomerUpdateDTO;
+import com.example.securecustomerapi.dto.BulkImportResultDTO;
+import com.example.securecustomerapi.dto.BulkResultDTO;
+import com.example.securecustomerapi.dto.CursorPageDTO;
 import com.example.securecustomerapi.dto.CustomerRequestDTO;
 import com.example.securecustomerapi.dto.CustomerResponseDTO;
 import com.example.securecustomerapi.entity.CustomerStatus;
@@ -18,19 +28,35 @@ public interface CustomerService {
     
     List<CustomerResponseDTO> getAllCustomers(Sort sort);
     
+    CursorPageDTO<CustomerResponseDTO> getCustomersPage(String cursor, Integer size, String sort);
+    
     CustomerResponseDTO getCustomerById(Long id);
     
+    // Up to customers.batch-get.max-size ids or codes in one call; misses are reported, not thrown
+    BatchGetResultDTO batchGetCustomers(BatchGetRequestDTO request);
+    
+    void exportCustomers(OutputStream out, boolean ndjson) throws IOException;
+    
     CustomerResponseDTO createCustomer(CustomerRequestDTO requestDTO);
     
-    CustomerResponseDTO updateCustomer(Long id, CustomerRequestDTO requestDTO);
+    // ifMatch may be null; otherwise the update only applies if it matches the current ETag
+    CustomerResponseDTO updateCustomer(Long id, CustomerRequestDTO requestDTO, String ifMatch);
     
     CustomerResponseDTO partialUpdateCustomer(Long id, com.example.securecustomerapi.dto.CustomerUpdateDTO updateDTO);
     
-    void deleteCustomer(Long id);
+    void deleteCustomer(Long id, String ifMatch);
+    
+    BulkImportResultDTO importCustomers(List<CustomerRequestDTO> requests);
+    
+    BulkImportResultDTO importCustomersCsv(Reader reader) throws IOException;
+    
+    BulkResultDTO bulkUpdateCustomers(BulkCustomerUpdateDTO request);
+    
+    BulkResultDTO bulkDeleteCustomers(BulkCustomerSelectionDTO selection);
     
-    List<CustomerResponseDTO> searchCustomers(String keyword);
+    List<CustomerResponseDTO> searchCustomers(String keyword, int page, Integer size);
     
     List<CustomerResponseDTO> getCustomersByStatus(CustomerStatus status);
     
-    List<CustomerResponseDTO> advancedSearch(String name, String email, String status);
+    List<CustomerResponseDTO> advancedSearch(String name, String email, String status, int page, Integer size);
 }
@@ -1,35 +1,133 @@
 package com.example.securecustomerapi.service;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.securecustomerapi.config.CacheConfig;
+import com.example.securecustomerapi.dto.BatchGetRequestDTO;
+import com.example.securecustomerapi.dto.BatchGetResultDTO;
+import com.example.securecustomerapi.dto.BulkCustomerSelectionDTO;
+import com.example.securecustomerapi.dto.BulkCustomerUpdateDTO;
+import com.example.securecustomerapi.dto.BulkImportResultDTO;
+import com.example.securecustomerapi.dto.BulkResultDTO;
+import com.example.securecustomerapi.dto.BulkRowErrorDTO;
+import com.example.securecustomerapi.dto.CursorPageDTO;
+import com.example.securecustomerapi.dto.CustomerFilterDTO;
 import com.example.securecustomerapi.dto.CustomerRequestDTO;
 import com.example.securecustomerapi.dto.CustomerResponseDTO;
 import com.example.securecustomerapi.dto.CustomerUpdateDTO;
 import com.example.securecustomerapi.entity.Customer;
 import com.example.securecustomerapi.entity.CustomerStatus;
 import com.example.securecustomerapi.exception.DuplicateResourceException;
+import com.example.securecustomerapi.exception.PreconditionFailedException;
 import com.example.securecustomerapi.exception.ResourceNotFoundException;
 import com.example.securecustomerapi.repository.CustomerRepository;
+import com.example.securecustomerapi.util.CsvParser;
+import com.example.securecustomerapi.util.CursorCodec;
+import com.example.securecustomerapi.util.ETags;
+import com.example.securecustomerapi.util.PageSizes;
+import com.example.securecustomerapi.util.UniqueViolations;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import tools.jackson.databind.json.JsonMapper;
 
 @Service
 @Transactional
 public class CustomerServiceImpl implements CustomerService {
     
+    private static final String SORT_BY_ID = "id";
+    
+    private static final String SORT_BY_CREATED_AT = "createdAt";
+    
+    // Matches innodb_ft_min_token_size; shorter terms are not in the FULLTEXT index
+    private static final int MIN_FULLTEXT_TERM_LENGTH = 3;
+    
+    private static final byte[] NEWLINE = "\n".getBytes(StandardCharsets.UTF_8);
+    
+    private static final byte[] COMMA = ",".getBytes(StandardCharsets.UTF_8);
+    
     private final CustomerRepository customerRepository;
     
-    public CustomerServiceImpl(CustomerRepository customerRepository) {
+    private final JsonMapper jsonMapper;
+    
+    private final Validator validator;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    private final int defaultPageSize;
+    
+    private final int maxPageSize;
+    
+    private final int importChunkSize;
+    
+    private final int bulkChunkSize;
+    
+    private final CacheManager cacheManager;
+    
+    private final int batchGetMaxSize;
+    
+    public CustomerServiceImpl(CustomerRepository customerRepository,
+                               JsonMapper jsonMapper,
+                               Validator validator,
+                               PlatformTransactionManager transactionManager,
+                               CacheManager cacheManager,
+                               @Value("${customers.pagination.default-size:20}") int defaultPageSize,
+                               @Value("${customers.pagination.max-size:100}") int maxPageSize,
+                               @Value("${customers.bulk.chunk-size:1000}") int importChunkSize,
+                               @Value("${customers.bulk.update-chunk-size:500}") int bulkChunkSize,
+                               @Value("${customers.batch-get.max-size:100}") int batchGetMaxSize) {
         this.customerRepository = customerRepository;
+        this.jsonMapper = jsonMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.importChunkSize = importChunkSize;
+        this.bulkChunkSize = bulkChunkSize;
+        this.batchGetMaxSize = batchGetMaxSize;
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<CustomerResponseDTO> getAllCustomers() {
         return customerRepository.findAll()
                 .stream()
@@ -38,12 +136,14 @@ public class CustomerServiceImpl implements CustomerService {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public Page<CustomerResponseDTO> getAllCustomers(Pageable pageable) {
         return customerRepository.findAll(pageable)
                 .map(this::convertToResponseDTO);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<CustomerResponseDTO> getAllCustomers(Sort sort) {
         return customerRepository.findAll(sort)
                 .stream()
@@ -52,43 +152,215 @@ public class CustomerServiceImpl implements CustomerService {
     }
     
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CustomerResponseDTO> getCustomersPage(String cursor, Integer size, String sort) {
+        int pageSize = PageSizes.resolve(size, defaultPageSize, maxPageSize);
+        
+        // Fetch one extra row to know whether another page follows
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<CustomerResponseDTO> rows;
+        
+        if (SORT_BY_ID.equals(sort)) {
+            Long afterId = 0L;
+            if (cursor != null) {
+                String[] position = decodeCursor(cursor, sort, 2);
+                afterId = CursorCodec.parseId(position[1]);
+            }
+            rows = customerRepository.findPageAfterId(afterId, limit);
+        } else if (SORT_BY_CREATED_AT.equals(sort)) {
+            if (cursor == null) {
+                rows = customerRepository.findFirstPageByCreatedAt(limit);
+            } else {
+                String[] position = decodeCursor(cursor, sort, 3);
+                rows = customerRepository.findPageBeforeCreatedAt(
+                        CursorCodec.parseTimestamp(position[1]), CursorCodec.parseId(position[2]), limit);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported sort: " + sort + " (expected id or createdAt)");
+        }
+        
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+        
+        String nextCursor = null;
+        if (hasNext) {
+            CustomerResponseDTO last = rows.get(rows.size() - 1);
+            nextCursor = SORT_BY_ID.equals(sort)
+                    ? CursorCodec.encode(sort, String.valueOf(last.getId()))
+                    : CursorCodec.encode(sort, last.getCreatedAt().toString(), String.valueOf(last.getId()));
+        }
+        
+        return new CursorPageDTO<>(rows, pageSize, hasNext, nextCursor);
+    }
+    
+    // Cache hits skip the transaction and the query entirely
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CUSTOMERS, key = "#id")
+    @Transactional(readOnly = true)
     public CustomerResponseDTO getCustomerById(Long id) {
-        Customer customer = customerRepository.findById(id)
+        return customerRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
-        return convertToResponseDTO(customer);
     }
     
     @Override
-    public CustomerResponseDTO createCustomer(CustomerRequestDTO requestDTO) {
-        // Check for duplicates
-        if (customerRepository.existsByCustomerCode(requestDTO.getCustomerCode())) {
-            throw new DuplicateResourceException("Customer code already exists: " + requestDTO.getCustomerCode());
+    @Transactional(readOnly = true)
+    public BatchGetResultDTO batchGetCustomers(BatchGetRequestDTO request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byCodes = request.getCodes() != null && !request.getCodes().isEmpty();
+        if (byIds == byCodes) {
+            throw new IllegalArgumentException("Provide either ids or codes");
         }
         
-        if (customerRepository.existsByEmail(requestDTO.getEmail())) {
-            throw new DuplicateResourceException("Email already exists: " + requestDTO.getEmail());
+        int requested = byIds ? request.getIds().size() : request.getCodes().size();
+        if (requested > batchGetMaxSize) {
+            throw new IllegalArgumentException("At most " + batchGetMaxSize + " ids or codes per request");
         }
         
+        return byIds ? batchGetByIds(request.getIds()) : batchGetByCodes(request.getCodes());
+    }
+    
+    // Warm entries come from the same cache as GET /{id}; the rest in one IN query, which then warms the cache
+    private BatchGetResultDTO batchGetByIds(List<Long> requestedIds) {
+        if (requestedIds.contains(null)) {
+            throw new IllegalArgumentException("Ids must not be null");
+        }
+        Set<Long> ids = new LinkedHashSet<>(requestedIds);
+        Cache cache = cacheManager.getCache(CacheConfig.CUSTOMERS);
+        
+        Map<Long, CustomerResponseDTO> found = new HashMap<>();
+        List<Long> toLoad = new ArrayList<>();
+        for (Long id : ids) {
+            CustomerResponseDTO cached = cache != null ? cache.get(id, CustomerResponseDTO.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                toLoad.add(id);
+            }
+        }
+        
+        if (!toLoad.isEmpty()) {
+            for (CustomerResponseDTO customer : customerRepository.findResponsesByIdIn(toLoad)) {
+                found.put(customer.getId(), customer);
+                // putIfAbsent: never replace an entry a concurrent update has just put
+                if (cache != null) {
+                    cache.putIfAbsent(customer.getId(), customer);
+                }
+            }
+        }
+        
+        BatchGetResultDTO result = new BatchGetResultDTO();
+        for (Long id : ids) {
+            CustomerResponseDTO customer = found.get(id);
+            if (customer != null) {
+                result.getItems().add(customer);
+            } else {
+                result.getMissingIds().add(id);
+            }
+        }
+        return result;
+    }
+    
+    // The cache is keyed by id, so codes always take the IN query; found rows still warm the cache
+    private BatchGetResultDTO batchGetByCodes(List<String> requestedCodes) {
+        // Codes compare case-insensitively, like the column collation
+        Map<String, String> codes = new LinkedHashMap<>();
+        for (String code : requestedCodes) {
+            if (code == null || code.isBlank()) {
+                throw new IllegalArgumentException("Codes must not be blank");
+            }
+            codes.putIfAbsent(code.trim().toUpperCase(Locale.ROOT), code.trim());
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.CUSTOMERS);
+        
+        Map<String, CustomerResponseDTO> found = new HashMap<>();
+        for (CustomerResponseDTO customer : customerRepository.findResponsesByCustomerCodeIn(codes.values())) {
+            found.put(customer.getCustomerCode().toUpperCase(Locale.ROOT), customer);
+            if (cache != null) {
+                cache.putIfAbsent(customer.getId(), customer);
+            }
+        }
+        
+        BatchGetResultDTO result = new BatchGetResultDTO();
+        for (Map.Entry<String, String> code : codes.entrySet()) {
+            CustomerResponseDTO customer = found.get(code.getKey());
+            if (customer != null) {
+                result.getItems().add(customer);
+            } else {
+                result.getMissingCodes().add(code.getValue());
+            }
+        }
+        return result;
+    }
+    
+    // Streams every customer as NDJSON (one object per line) or a JSON array.
+    // Rows are projected and written one at a time, so memory stays flat regardless of table size.
+    @Override
+    @Transactional(readOnly = true)
+    public void exportCustomers(OutputStream out, boolean ndjson) throws IOException {
+        try (Stream<CustomerResponseDTO> customers = customerRepository.streamAllOrderById()) {
+            if (!ndjson) {
+                out.write('[');
+            }
+            
+            boolean first = true;
+            for (CustomerResponseDTO customer : (Iterable<CustomerResponseDTO>) customers::iterator) {
+                if (!ndjson && !first) {
+                    out.write(COMMA);
+                }
+                out.write(jsonMapper.writeValueAsBytes(customer));
+                if (ndjson) {
+                    out.write(NEWLINE);
+                }
+                first = false;
+            }
+            
+            if (!ndjson) {
+                out.write(']');
+            }
+            out.flush();
+        }
+    }
+    
+    @Override
+    @CachePut(cacheNames = CacheConfig.CUSTOMERS, key = "#result.id")
+    public CustomerResponseDTO createCustomer(CustomerRequestDTO requestDTO) {
         // Convert DTO to Entity
         Customer customer = convertToEntity(requestDTO);
         
-        // Save to database
-        Customer savedCustomer = customerRepository.save(customer);
+        // Save to database; the unique indexes on customer_code and email reject duplicates
+        Customer savedCustomer = saveOrThrowDuplicate(customer);
         
         // Convert Entity to Response DTO
         return convertToResponseDTO(savedCustomer);
     }
     
     @Override
-    public CustomerResponseDTO updateCustomer(Long id, CustomerRequestDTO requestDTO) {
+    @CachePut(cacheNames = CacheConfig.CUSTOMERS, key = "#id")
+    public CustomerResponseDTO updateCustomer(Long id, CustomerRequestDTO requestDTO, String ifMatch) {
+        // Known version (If-Match tag or body): one conditioned UPDATE, no prior SELECT
+        Long expectedVersion = ifMatch != null ? ETags.versionOf(ifMatch, id) : requestDTO.getVersion();
+        if (expectedVersion != null) {
+            int updated;
+            try {
+                updated = customerRepository.updateIfVersion(id, expectedVersion, requestDTO.getFullName(),
+                        requestDTO.getEmail(), requestDTO.getPhone(), requestDTO.getAddress(), LocalDateTime.now());
+            } catch (DataIntegrityViolationException ex) {
+                throw translateDuplicate(ex, null, requestDTO.getEmail());
+            }
+            if (updated == 0) {
+                throw staleOrMissing(id, ifMatch != null);
+            }
+            evictAfterCommit(id);
+            return findResponseOrThrow(id);
+        }
+        
+        // Otherwise load and save; @Version still rejects a concurrent edit at flush
         Customer existingCustomer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
-        
-        // Check if email is being changed to an existing one
-        if (!existingCustomer.getEmail().equals(requestDTO.getEmail()) 
-            && customerRepository.existsByEmail(requestDTO.getEmail())) {
-            throw new DuplicateResourceException("Email already exists: " + requestDTO.getEmail());
-        }
+        checkIfMatch(existingCustomer, ifMatch);
+        checkVersion(existingCustomer, requestDTO.getVersion());
         
         // Update fields
         existingCustomer.setFullName(requestDTO.getFullName());
@@ -98,12 +370,29 @@ public class CustomerServiceImpl implements CustomerService {
         
         // Don't update customerCode (immutable)
         
-        Customer updatedCustomer = customerRepository.save(existingCustomer);
+        Customer updatedCustomer = saveVersioned(existingCustomer, ifMatch != null);
         return convertToResponseDTO(updatedCustomer);
     }
     
     @Override
+    @CachePut(cacheNames = CacheConfig.CUSTOMERS, key = "#id")
     public CustomerResponseDTO partialUpdateCustomer(Long id, CustomerUpdateDTO updateDTO) {
+        // Known version: one UPDATE writing only the supplied fields
+        if (updateDTO.getVersion() != null) {
+            int updated;
+            try {
+                updated = customerRepository.patchIfVersion(id, updateDTO.getVersion(), updateDTO.getFullName(),
+                        updateDTO.getEmail(), updateDTO.getPhone(), updateDTO.getAddress(), LocalDateTime.now());
+            } catch (DataIntegrityViolationException ex) {
+                throw translateDuplicate(ex, null, updateDTO.getEmail());
+            }
+            if (updated == 0) {
+                throw staleOrMissing(id, false);
+            }
+            evictAfterCommit(id);
+            return findResponseOrThrow(id);
+        }
+        
         Customer existingCustomer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
         
@@ -113,11 +402,6 @@ public class CustomerServiceImpl implements CustomerService {
         }
         
         if (updateDTO.getEmail() != null) {
-            // Check if email is being changed to an existing one
-            if (!existingCustomer.getEmail().equals(updateDTO.getEmail()) 
-                && customerRepository.existsByEmail(updateDTO.getEmail())) {
-                throw new DuplicateResourceException("Email already exists: " + updateDTO.getEmail());
-            }
             existingCustomer.setEmail(updateDTO.getEmail());
         }
         
@@ -129,40 +413,516 @@ public class CustomerServiceImpl implements CustomerService {
             existingCustomer.setAddress(updateDTO.getAddress());
         }
         
-        Customer updatedCustomer = customerRepository.save(existingCustomer);
+        Customer updatedCustomer = saveOrThrowDuplicate(existingCustomer);
         return convertToResponseDTO(updatedCustomer);
     }
     
-    @Override
-    public void deleteCustomer(Long id) {
+    // Flush right away so a unique-key collision surfaces here, not at commit, and
+    // translate it into the same DuplicateResourceException the exists-checks used to throw
+    private Customer saveOrThrowDuplicate(Customer customer) {
+        try {
+            return customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException ex) {
+            throw translateDuplicate(ex, customer.getCustomerCode(), customer.getEmail());
+        }
+    }
+    
+    // @Version + @DynamicUpdate flush one "UPDATE customers SET <changed> WHERE id=? AND version=?"
+    // and refresh only this entity's L2 entry; a concurrent commit in between fails that WHERE
+    private Customer saveVersioned(Customer customer, boolean fromIfMatch) {
+        try {
+            return saveOrThrowDuplicate(customer);
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            throw stale(customer.getId(), fromIfMatch);
+        }
+    }
+    
+    private RuntimeException translateDuplicate(DataIntegrityViolationException ex, String customerCode, String email) {
+        if (customerCode != null && UniqueViolations.isDuplicateOf(ex, customerCode)) {
+            return new DuplicateResourceException("Customer code already exists: " + customerCode, ex);
+        }
+        if (email != null && UniqueViolations.isDuplicateOf(ex, email)) {
+            return new DuplicateResourceException("Email already exists: " + email, ex);
+        }
+        return ex;
+    }
+    
+    // A conditioned statement matched nothing: only now tell a missing row from a stale version
+    private RuntimeException staleOrMissing(Long id, boolean fromIfMatch) {
         if (!customerRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Customer not found with id: " + id);
+            return new ResourceNotFoundException("Customer not found with id: " + id);
         }
-        customerRepository.deleteById(id);
+        return stale(id, fromIfMatch);
+    }
+    
+    // A version precondition failed: 412 for a stale If-Match header, 409 for a stale body version
+    private RuntimeException stale(Long id, boolean fromIfMatch) {
+        if (fromIfMatch) {
+            return new PreconditionFailedException("Customer " + id + " was modified since it was read");
+        }
+        return new ObjectOptimisticLockingFailureException(Customer.class, id);
     }
     
     @Override
-    public List<CustomerResponseDTO> searchCustomers(String keyword) {
-        return customerRepository.searchCustomers(keyword)
-                .stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+    @CacheEvict(cacheNames = CacheConfig.CUSTOMERS, key = "#id")
+    public void deleteCustomer(Long id, String ifMatch) {
+        // A single tag for this customer names the version: delete without reading the row
+        Long expectedVersion = ifMatch != null ? ETags.versionOf(ifMatch, id) : null;
+        if (expectedVersion != null) {
+            if (customerRepository.deleteIfVersion(id, expectedVersion) == 0) {
+                throw staleOrMissing(id, true);
+            }
+            evictAfterCommit(id);
+            return;
+        }
+        
+        Customer existingCustomer = customerRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+        checkIfMatch(existingCustomer, ifMatch);
+        try {
+            // Versioned entity: DELETE ... WHERE id=? AND version=?
+            customerRepository.delete(existingCustomer);
+            customerRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            throw stale(id, ifMatch != null);
+        }
+    }
+    
+    private CustomerResponseDTO findResponseOrThrow(Long id) {
+        return customerRepository.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+    }
+    
+    // The conditional writes bypass Hibernate, so drop this customer's cached state ourselves. After
+    // commit: evicting earlier would let a concurrent reader re-cache the pre-update row.
+    private void evictAfterCommit(Long id) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                customerRepository.evictCached(id);
+            }
+        });
+    }
+    
+    private void checkIfMatch(Customer customer, String ifMatch) {
+        if (ifMatch != null && !ETags.matches(ifMatch, ETags.of(customer.getId(), customer.getVersion()))) {
+            throw stale(customer.getId(), true);
+        }
+    }
+    
+    private void checkVersion(Customer customer, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(customer.getVersion())) {
+            throw stale(customer.getId(), false);
+        }
     }
     
     @Override
+    @Transactional(readOnly = true)
+    public List<CustomerResponseDTO> searchCustomers(String keyword, int page, Integer size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        Pageable pageable = PageRequest.of(page, PageSizes.resolve(size, defaultPageSize, maxPageSize));
+        String query = toFullTextQuery(keyword);
+        
+        // Keywords made only of very short terms can't use the index; fall back to a bounded LIKE scan
+        if (query.isEmpty()) {
+            return customerRepository.searchCustomers(keyword.trim(), pageable);
+        }
+        
+        List<Long> rankedIds = customerRepository.fullTextSearchIds(query, pageable);
+        if (rankedIds.isEmpty()) {
+            // The index only matches word prefixes and drops stopwords, so "mail" or the middle of a
+            // code finds nothing there. When no row matches at all, serve the substring search instead.
+            if (page == 0 || customerRepository.fullTextSearchIds(query, PageRequest.of(0, 1)).isEmpty()) {
+                return customerRepository.searchCustomers(keyword.trim(), pageable);
+            }
+            return List.of();
+        }
+        
+        // Restore rank order, which the IN lookup does not preserve
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < rankedIds.size(); i++) {
+            rank.put(rankedIds.get(i), i);
+        }
+        List<CustomerResponseDTO> customers = new ArrayList<>(customerRepository.findResponsesByIdIn(rankedIds));
+        customers.sort(Comparator.comparing(customer -> rank.get(customer.getId())));
+        return customers;
+    }
+    
+    // Turns free text into a boolean-mode query requiring every term as a prefix: "jo smi" -> "+smi*"
+    private String toFullTextQuery(String keyword) {
+        StringBuilder query = new StringBuilder();
+        for (String term : keyword.split("[^\\p{L}\\p{N}]+")) {
+            if (term.length() >= MIN_FULLTEXT_TERM_LENGTH) {
+                if (query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append('+').append(term).append('*');
+            }
+        }
+        return query.toString();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
     public List<CustomerResponseDTO> getCustomersByStatus(CustomerStatus status) {
-        return customerRepository.findByStatus(status)
-                .stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return customerRepository.findResponsesByStatus(status);
     }
     
     @Override
-    public List<CustomerResponseDTO> advancedSearch(String name, String email, String status) {
-        return customerRepository.advancedSearch(name, email, status)
-                .stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<CustomerResponseDTO> advancedSearch(String name, String email, String status, int page, Integer size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        CustomerStatus customerStatus = parseStatus(status);
+        Pageable pageable = PageRequest.of(page, PageSizes.resolve(size, defaultPageSize, maxPageSize));
+        
+        return customerRepository.advancedSearch(name, email, customerStatus, pageable);
+    }
+    
+    private CustomerStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return CustomerStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+    }
+    
+    // Bulk Import
+    
+    // Each chunk commits on its own, so the outer class-level transaction is suspended
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkImportResultDTO importCustomers(List<CustomerRequestDTO> requests) {
+        ImportState state = new ImportState();
+        List<ImportRow> chunk = new ArrayList<>(importChunkSize);
+        
+        for (int i = 0; i < requests.size(); i++) {
+            chunk.add(new ImportRow(i + 1, requests.get(i)));
+            if (chunk.size() == importChunkSize) {
+                importChunk(chunk, state);
+                chunk.clear();
+            }
+        }
+        importChunk(chunk, state);
+        
+        return state.toResult();
+    }
+    
+    // Reads the CSV line by line; only one chunk of rows is held in memory at a time
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkImportResultDTO importCustomersCsv(Reader reader) throws IOException {
+        BufferedReader in = new BufferedReader(reader);
+        String headerLine = in.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("CSV input is empty");
+        }
+        Map<String, Integer> columns = parseCsvHeader(headerLine);
+        
+        ImportState state = new ImportState();
+        List<ImportRow> chunk = new ArrayList<>(importChunkSize);
+        int row = 0;
+        String line;
+        
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            
+            try {
+                List<String> fields = CsvParser.parseLine(line);
+                CustomerRequestDTO request = new CustomerRequestDTO(
+                        csvField(fields, columns, "customercode"),
+                        csvField(fields, columns, "fullname"),
+                        csvField(fields, columns, "email"),
+                        csvField(fields, columns, "phone"),
+                        csvField(fields, columns, "address"));
+                chunk.add(new ImportRow(row, request));
+            } catch (IllegalArgumentException ex) {
+                state.total++;
+                state.fail(row, null, ex.getMessage());
+            }
+            
+            if (chunk.size() == importChunkSize) {
+                importChunk(chunk, state);
+                chunk.clear();
+            }
+        }
+        importChunk(chunk, state);
+        
+        return state.toResult();
+    }
+    
+    private void importChunk(List<ImportRow> rows, ImportState state) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        state.total += rows.size();
+        
+        // Validate and de-duplicate within the whole import
+        List<ImportRow> candidates = new ArrayList<>();
+        for (ImportRow row : rows) {
+            CustomerRequestDTO request = row.request();
+            Set<ConstraintViolation<CustomerRequestDTO>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                state.fail(row, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            } else if (!state.seenCodes.add(normalizeKey(request.getCustomerCode()))) {
+                state.fail(row, "Duplicate customer code in batch: " + request.getCustomerCode());
+            } else if (!state.seenEmails.add(normalizeKey(request.getEmail()))) {
+                state.fail(row, "Duplicate email in batch: " + request.getEmail());
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+        
+        // One set-based lookup for codes and emails already in the table
+        Set<String> codes = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (ImportRow row : candidates) {
+            codes.add(row.request().getCustomerCode());
+            emails.add(row.request().getEmail());
+        }
+        Set<String> existingCodes = new HashSet<>();
+        Set<String> existingEmails = new HashSet<>();
+        for (Object[] existing : customerRepository.findExistingCodesAndEmails(codes, emails)) {
+            existingCodes.add(normalizeKey((String) existing[0]));
+            existingEmails.add(normalizeKey((String) existing[1]));
+        }
+        
+        List<ImportRow> insertable = new ArrayList<>();
+        for (ImportRow row : candidates) {
+            CustomerRequestDTO request = row.request();
+            if (existingCodes.contains(normalizeKey(request.getCustomerCode()))) {
+                state.fail(row, "Customer code already exists: " + request.getCustomerCode());
+            } else if (existingEmails.contains(normalizeKey(request.getEmail()))) {
+                state.fail(row, "Email already exists: " + request.getEmail());
+            } else {
+                insertable.add(row);
+            }
+        }
+        
+        insertRows(insertable, state);
+    }
+    
+    private void insertRows(List<ImportRow> rows, ImportState state) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> customerRepository.batchInsert(toEntities(rows)));
+            state.inserted += rows.size();
+        } catch (DataIntegrityViolationException ex) {
+            // A concurrent writer took a code or email after the lookup; retry one by one to find the row
+            for (ImportRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(
+                            status -> customerRepository.batchInsert(List.of(convertToEntity(row.request()))));
+                    state.inserted++;
+                } catch (DataIntegrityViolationException rowEx) {
+                    CustomerRequestDTO request = row.request();
+                    if (UniqueViolations.isDuplicateOf(rowEx, request.getCustomerCode())) {
+                        state.fail(row, "Customer code already exists: " + request.getCustomerCode());
+                    } else if (UniqueViolations.isDuplicateOf(rowEx, request.getEmail())) {
+                        state.fail(row, "Email already exists: " + request.getEmail());
+                    } else {
+                        state.fail(row, rowEx.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
+        
+        // The JDBC batch is invisible to Hibernate's query cache invalidation
+        customerRepository.evictCachedQueries();
+    }
+    
+    private List<Customer> toEntities(List<ImportRow> rows) {
+        List<Customer> customers = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            customers.add(convertToEntity(row.request()));
+        }
+        return customers;
+    }
+    
+    // Header names are matched ignoring case and underscores: customerCode, customer_code, ...
+    private Map<String, Integer> parseCsvHeader(String headerLine) {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = CsvParser.parseLine(headerLine);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("customercode", "fullname", "email")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+        return columns;
+    }
+    
+    private String csvField(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+    
+    // Unique indexes use a case-insensitive collation, so compare keys the same way
+    private String normalizeKey(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+    
+    private record ImportRow(int row, CustomerRequestDTO request) {
+    }
+    
+    private static class ImportState {
+        private final Set<String> seenCodes = new HashSet<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private final List<BulkRowErrorDTO> errors = new ArrayList<>();
+        private int total;
+        private int inserted;
+        
+        void fail(ImportRow row, String message) {
+            fail(row.row(), row.request().getCustomerCode(), message);
+        }
+        
+        void fail(int row, String customerCode, String message) {
+            errors.add(new BulkRowErrorDTO(row, customerCode, message));
+        }
+        
+        BulkImportResultDTO toResult() {
+            return new BulkImportResultDTO(total, inserted, errors.size(), errors);
+        }
+    }
+    
+    // Bulk Update / Delete
+    
+    // Bulk statements bypass the entities, so runInChunks evicts each chunk's cached customers itself
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkResultDTO bulkUpdateCustomers(BulkCustomerUpdateDTO request) {
+        CustomerStatus status = parseStatus(request.getStatus());
+        if (status == null && request.getFullName() == null
+                && request.getPhone() == null && request.getAddress() == null) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        
+        // A pure status change skips rows that already have it
+        if (request.getFullName() == null && request.getPhone() == null && request.getAddress() == null) {
+            return runInChunks(request.getIds(), request.getFilter(),
+                    ids -> customerRepository.updateStatusByIdIn(ids, status, now));
+        }
+        return runInChunks(request.getIds(), request.getFilter(),
+                ids -> customerRepository.patchByIdIn(ids, request.getFullName(), request.getPhone(),
+                        request.getAddress(), status, now));
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkResultDTO bulkDeleteCustomers(BulkCustomerSelectionDTO selection) {
+        return runInChunks(selection.getIds(), selection.getFilter(), customerRepository::deleteByIdIn);
+    }
+    
+    // Applies the operation to at most bulkChunkSize ids per statement, each chunk in its own
+    // short transaction, so row locks are held for one chunk rather than the whole run. Each
+    // committed chunk is evicted from the customers cache right away: if a later chunk fails the
+    // method throws, and an annotation-driven eviction would never run for the earlier ones.
+    private BulkResultDTO runInChunks(List<Long> ids, CustomerFilterDTO filter, ToIntFunction<List<Long>> operation) {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        boolean hasFilter = filter != null && (hasText(filter.getName()) || hasText(filter.getEmail())
+                || hasText(filter.getStatus()));
+        if (hasIds == hasFilter) {
+            throw new IllegalArgumentException("Provide either ids or a filter with at least one criterion");
+        }
+        
+        BulkProgress progress = new BulkProgress();
+        
+        if (hasIds) {
+            List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+            for (int from = 0; from < distinctIds.size(); from += bulkChunkSize) {
+                List<Long> chunk = distinctIds.subList(from, Math.min(from + bulkChunkSize, distinctIds.size()));
+                transactionTemplate.executeWithoutResult(status -> progress.add(operation.applyAsInt(chunk)));
+                evictCached(chunk);
+            }
+            return progress.toResult();
+        }
+        
+        // Filter-driven: select the next chunk of matching ids by keyset and apply the operation
+        // to exactly those ids in the same transaction
+        CustomerStatus filterStatus = parseStatus(filter.getStatus());
+        long afterId = 0L;
+        while (true) {
+            long cursor = afterId;
+            List<Long> chunk = transactionTemplate.execute(status -> {
+                List<Long> selected = customerRepository.findIdsAfter(
+                        cursor, filter.getName(), filter.getEmail(), filterStatus, bulkChunkSize);
+                if (!selected.isEmpty()) {
+                    progress.add(operation.applyAsInt(selected));
+                }
+                return selected;
+            });
+            if (chunk == null) {
+                return progress.toResult();
+            }
+            evictCached(chunk);
+            if (chunk.size() < bulkChunkSize) {
+                return progress.toResult();
+            }
+            afterId = chunk.get(chunk.size() - 1);
+        }
+    }
+    
+    private void evictCached(List<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.CUSTOMERS);
+        if (cache == null) {
+            return;
+        }
+        for (Long id : ids) {
+            cache.evict(id);
+        }
+    }
+    
+    private boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+    
+    private static class BulkProgress {
+        private int affected;
+        private int chunks;
+        
+        void add(int rows) {
+            affected += rows;
+            chunks++;
+        }
+        
+        BulkResultDTO toResult() {
+            return new BulkResultDTO(affected, chunks);
+        }
+    }
+    
+    // Helper Methods for Keyset Pagination
+    
+    private String[] decodeCursor(String cursor, String sort, int expectedParts) {
+        String[] position = CursorCodec.decode(cursor, expectedParts);
+        if (!sort.equals(position[0])) {
+            throw new IllegalArgumentException("Cursor does not match sort: " + sort);
+        }
+        return position;
     }
     
     // Helper Methods for DTO Conversion
@@ -177,6 +937,8 @@ public class CustomerServiceImpl implements CustomerService {
         dto.setAddress(customer.getAddress());
         dto.setStatus(customer.getStatus().toString());
         dto.setCreatedAt(customer.getCreatedAt());
+        dto.setUpdatedAt(customer.getUpdatedAt());
+        dto.setVersion(customer.getVersion());
         return dto;
     }
     
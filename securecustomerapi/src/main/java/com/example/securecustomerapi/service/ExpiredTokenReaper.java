@@ -0,0 +1,139 @@
+package com.example.securecustomerapi.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+// Periodically removes expired refresh tokens, password-reset tokens and token revocations.
+// Each chunk is one auto-committed statement walking the expiry index (ORDER BY ... LIMIT),
+// so locks are held for at most batchSize rows, with a pause between chunks. The cron fires on
+// every instance; a MySQL named lock lets only one of them purge at a time.
+@Service
+public class ExpiredTokenReaper {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredTokenReaper.class);
+    
+    private static final String LOCK_NAME = "securecustomerapi.expired-token-reaper";
+    
+    private static final String DELETE_EXPIRED_REFRESH_TOKENS =
+            "DELETE FROM refresh_tokens WHERE expiry_date < ? ORDER BY expiry_date LIMIT ?";
+    
+    private static final String DELETE_EXPIRED_REVOCATIONS =
+            "DELETE FROM revoked_tokens WHERE expires_at < ? ORDER BY expires_at LIMIT ?";
+    
+    private static final String DELETE_EXPIRED_RESET_TOKENS =
+            "DELETE FROM password_reset_tokens WHERE expiry_date < ? ORDER BY expiry_date LIMIT ?";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${security.token-cleanup.batch-size:1000}")
+    private int batchSize;
+    
+    @Value("${security.token-cleanup.pause-ms:100}")
+    private long pauseMillis;
+    
+    private Counter refreshTokensPurged;
+    
+    private Counter resetTokensPurged;
+    
+    private Counter revocationsPurged;
+    
+    @PostConstruct
+    public void init() {
+        // With LIMIT 0 the chunk loop never sees a short chunk and never ends; a negative LIMIT is a SQL error
+        if (batchSize <= 0) {
+            throw new IllegalStateException("security.token-cleanup.batch-size must be positive, was " + batchSize);
+        }
+        refreshTokensPurged = Counter.builder("tokens.purged")
+                .description("Expired tokens removed by the background reaper")
+                .tag("type", "refresh")
+                .register(meterRegistry);
+        resetTokensPurged = Counter.builder("tokens.purged")
+                .description("Expired tokens removed by the background reaper")
+                .tag("type", "password-reset")
+                .register(meterRegistry);
+        revocationsPurged = Counter.builder("tokens.purged")
+                .description("Expired tokens removed by the background reaper")
+                .tag("type", "revocation")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(cron = "${security.token-cleanup.cron:0 */15 * * * *}")
+    public void purgeExpiredTokens() {
+        // GET_LOCK belongs to the session, so lock, purge and release all run on one pooled connection
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Integer acquired = session.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+            if (acquired == null || acquired != 1) {
+                logger.debug("Expired token purge is already running on another instance");
+                return null;
+            }
+            try {
+                purgeExpiredTokens(session);
+            } finally {
+                session.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+            return null;
+        });
+    }
+    
+    private void purgeExpiredTokens(JdbcTemplate session) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        
+        long refreshTokens = purgeInChunks(session, DELETE_EXPIRED_REFRESH_TOKENS, now, refreshTokensPurged);
+        long resetTokens = purgeInChunks(session, DELETE_EXPIRED_RESET_TOKENS, now, resetTokensPurged);
+        // Revocations are pointless once the revoked token has expired
+        purgeInChunks(session, DELETE_EXPIRED_REVOCATIONS, now, revocationsPurged);
+        
+        if (refreshTokens > 0 || resetTokens > 0) {
+            logger.info("Purged {} expired refresh tokens and {} expired reset tokens", refreshTokens, resetTokens);
+        }
+    }
+    
+    private long purgeInChunks(JdbcTemplate session, String sql, Timestamp now, Counter counter) {
+        long total = 0;
+        while (true) {
+            int affected = session.update(sql, now, batchSize);
+            total += affected;
+            counter.increment(affected);
+            
+            if (affected < batchSize) {
+                return total;
+            }
+            if (!pause()) {
+                return total;
+            }
+        }
+    }
+    
+    // Lets other writers through between chunks; false if the scheduler is shutting down
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.securecustomerapi.service;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
+import com.example.securecustomerapi.dto.BulkResultDTO;
+import com.example.securecustomerapi.dto.BulkUserRoleDTO;
+import com.example.securecustomerapi.dto.BulkUserStatusDTO;
 import com.example.securecustomerapi.dto.ChangePasswordDTO;
+import com.example.securecustomerapi.dto.CursorPageDTO;
 import com.example.securecustomerapi.dto.LoginRequestDTO;
 import com.example.securecustomerapi.dto.LoginResponseDTO;
 import com.example.securecustomerapi.dto.RegisterRequestDTO;
@@ -10,12 +14,15 @@ import com.example.securecustomerapi.dto.ResetPasswordDTO;
 import com.example.securecustomerapi.dto.UpdateProfileDTO;
 import com.example.securecustomerapi.dto.UpdateRoleDTO;
 import com.example.securecustomerapi.dto.UserResponseDTO;
-import com.example.securecustomerapi.entity.RefreshToken;
+import com.example.securecustomerapi.entity.Role;
 
 public interface UserService {
     
     LoginResponseDTO login(LoginRequestDTO loginRequest);
     
+    // Revokes the access token and the user's refresh token
+    void logout(String username, String accessToken);
+    
     UserResponseDTO register(RegisterRequestDTO registerRequest);
     
     UserResponseDTO getCurrentUser(String username);
@@ -32,14 +39,21 @@ public interface UserService {
     void deleteAccount(String username, String password);
     
     // Exercise 8
-    List<UserResponseDTO> getAllUsers();
+    // Keyset page ordered by id; filters are optional
+    CursorPageDTO<UserResponseDTO> getUsersPage(String cursor, Integer size, Role role, Boolean active,
+                                                LocalDateTime createdAfter, String usernamePrefix);
     
     UserResponseDTO updateUserRole(Long userId, UpdateRoleDTO updateRoleDTO);
     
     UserResponseDTO toggleUserStatus(Long userId);
     
+    BulkResultDTO updateUserRoles(BulkUserRoleDTO dto);
+    
+    BulkResultDTO updateUserStatuses(BulkUserStatusDTO dto);
+    
     // Exercise 9
-    RefreshToken createRefreshToken(String username);
+    // Returns the raw token; only its digest is stored
+    String createRefreshToken(Long userId);
     
     LoginResponseDTO refreshAccessToken(String refreshToken);
 }
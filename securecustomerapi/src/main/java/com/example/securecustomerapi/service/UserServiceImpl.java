@@ -1,22 +1,27 @@
 package com.example.securecustomerapi.service;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.securecustomerapi.dto.BulkResultDTO;
+import com.example.securecustomerapi.dto.BulkUserRoleDTO;
+import com.example.securecustomerapi.dto.BulkUserStatusDTO;
 import com.example.securecustomerapi.dto.ChangePasswordDTO;
+import com.example.securecustomerapi.dto.CursorPageDTO;
 import com.example.securecustomerapi.dto.LoginRequestDTO;
 import com.example.securecustomerapi.dto.LoginResponseDTO;
 import com.example.securecustomerapi.dto.RegisterRequestDTO;
@@ -24,19 +29,33 @@ import com.example.securecustomerapi.dto.ResetPasswordDTO;
 import com.example.securecustomerapi.dto.UpdateProfileDTO;
 import com.example.securecustomerapi.dto.UpdateRoleDTO;
 import com.example.securecustomerapi.dto.UserResponseDTO;
+import com.example.securecustomerapi.entity.PasswordResetToken;
 import com.example.securecustomerapi.entity.RefreshToken;
 import com.example.securecustomerapi.entity.Role;
 import com.example.securecustomerapi.entity.User;
+import com.example.securecustomerapi.event.TokenVersionChangedEvent;
+import com.example.securecustomerapi.event.UserUpdatedEvent;
 import com.example.securecustomerapi.exception.DuplicateResourceException;
 import com.example.securecustomerapi.exception.ResourceNotFoundException;
+import com.example.securecustomerapi.repository.PasswordResetTokenRepository;
 import com.example.securecustomerapi.repository.RefreshTokenRepository;
 import com.example.securecustomerapi.repository.UserRepository;
 import com.example.securecustomerapi.security.JwtTokenProvider;
+import com.example.securecustomerapi.security.TokenHasher;
+import com.example.securecustomerapi.security.TokenRevocationList;
+import com.example.securecustomerapi.security.UserPrincipal;
+import com.example.securecustomerapi.util.CursorCodec;
+import com.example.securecustomerapi.util.PageSizes;
+import com.example.securecustomerapi.util.UniqueViolations;
 
 @Service
 @Transactional
 public class UserServiceImpl implements UserService {
     
+    private static final long REFRESH_TOKEN_DAYS = 7;
+    
+    private static final long RESET_TOKEN_HOURS = 1;
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -52,6 +71,21 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private RefreshTokenRepository refreshTokenRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+    
+    @Autowired
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    
+    @Value("${users.pagination.default-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${users.pagination.max-size:100}")
+    private int maxPageSize;
+    
     @Override
     public LoginResponseDTO login(LoginRequestDTO loginRequest) {
         // Authenticate user
@@ -64,38 +98,43 @@ public class UserServiceImpl implements UserService {
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
         
-        // Generate JWT token
-        String token = tokenProvider.generateToken(authentication);
+        // The principal loaded during authentication already has everything the tokens need
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
         
-        // Get user details
-        User user = userRepository.findByUsername(loginRequest.getUsername())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        // Generate JWT token
+        String token = tokenProvider.generateToken(principal);
         
         // Generate refresh token
-        RefreshToken refreshToken = createRefreshToken(user.getUsername());
+        String refreshToken = createRefreshToken(principal.getId());
         
         return new LoginResponseDTO(
             token,
-            user.getUsername(),
-            user.getEmail(),
-            user.getRole().name(),
-            refreshToken.getToken()
+            principal.getUsername(),
+            principal.getEmail(),
+            principal.getRole().name(),
+            refreshToken
         );
     }
     
     @Override
-    public UserResponseDTO register(RegisterRequestDTO registerRequest) {
-        // Check if username exists
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
-            throw new DuplicateResourceException("Username already exists");
+    public void logout(String username, String accessToken) {
+        Claims claims = accessToken != null ? tokenProvider.parseClaims(accessToken) : null;
+        if (claims == null || !claims.getSubject().equals(username)) {
+            return;
         }
         
-        // Check if email exists
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new DuplicateResourceException("Email already exists");
+        // Tokens issued before the jti claim existed cannot be revoked; they simply expire
+        if (claims.getId() != null) {
+            tokenRevocationList.revoke(claims.getId(), username, claims.getExpiration());
         }
         
-        // Create new user
+        userRepository.findByUsername(username)
+                .ifPresent(user -> refreshTokenRepository.deleteByUserId(user.getId()));
+    }
+    
+    @Override
+    public UserResponseDTO register(RegisterRequestDTO registerRequest) {
+        // Create new user; the unique indexes on username and email reject duplicates
         User user = new User();
         user.setUsername(registerRequest.getUsername());
         user.setEmail(registerRequest.getEmail());
@@ -104,7 +143,7 @@ public class UserServiceImpl implements UserService {
         user.setRole(Role.USER);  // Default role
         user.setIsActive(true);
         
-        User savedUser = userRepository.save(user);
+        User savedUser = saveOrThrowDuplicate(user);
         
         return convertToDTO(savedUser);
     }
@@ -117,6 +156,21 @@ public class UserServiceImpl implements UserService {
         return convertToDTO(user);
     }
     
+    // Flush right away so a unique-key collision surfaces here, not at commit
+    private User saveOrThrowDuplicate(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueViolations.isDuplicateOf(ex, user.getUsername())) {
+                throw new DuplicateResourceException("Username already exists", ex);
+            }
+            if (UniqueViolations.isDuplicateOf(ex, user.getEmail())) {
+                throw new DuplicateResourceException("Email already exists", ex);
+            }
+            throw ex;
+        }
+    }
+    
     private UserResponseDTO convertToDTO(User user) {
         return new UserResponseDTO(
             user.getId(),
@@ -153,6 +207,8 @@ public class UserServiceImpl implements UserService {
         // Hash and update password
         user.setPassword(passwordEncoder.encode(changePasswordDTO.getNewPassword()));
         userRepository.save(user);
+        
+        eventPublisher.publishEvent(new UserUpdatedEvent(user.getUsername()));
     }
     
     @Override
@@ -161,14 +217,14 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User with this email not found"));
         
-        // Generate reset token
-        String resetToken = UUID.randomUUID().toString();
-        
-        // Set token and expiry (1 hour)
-        user.setResetToken(resetToken);
-        user.setResetTokenExpiry(LocalDateTime.now().plusHours(1));
+        // Replace any outstanding token; only the digest is stored
+        passwordResetTokenRepository.deleteByUserId(user.getId());
         
-        userRepository.save(user);
+        String resetToken = TokenHasher.newToken();
+        passwordResetTokenRepository.save(new PasswordResetToken(
+                user,
+                TokenHasher.hash(resetToken),
+                LocalDateTime.now().plusHours(RESET_TOKEN_HOURS)));
         
         // In real app, send email with reset link
         // For now, just return the token
@@ -177,28 +233,33 @@ public class UserServiceImpl implements UserService {
     
     @Override
     public void resetPassword(ResetPasswordDTO resetPasswordDTO) {
-        // Find user by reset token
-        User user = userRepository.findByResetToken(resetPasswordDTO.getResetToken())
+        // Find reset token by digest (unique index)
+        byte[] tokenHash = TokenHasher.hash(resetPasswordDTO.getResetToken());
+        PasswordResetToken resetToken = passwordResetTokenRepository.findByTokenHash(tokenHash)
                 .orElseThrow(() -> new ResourceNotFoundException("Invalid reset token"));
         
-        // Check if token is expired
-        if (user.getResetTokenExpiry() == null || LocalDateTime.now().isAfter(user.getResetTokenExpiry())) {
+        // Check if token is expired (the reaper removes it later)
+        if (resetToken.isExpired()) {
             throw new IllegalArgumentException("Reset token has expired");
         }
         
-        // Check passwords match
+        // Check passwords match before the token is used up
         if (!resetPasswordDTO.getNewPassword().equals(resetPasswordDTO.getConfirmPassword())) {
             throw new IllegalArgumentException("Passwords do not match");
         }
         
+        // Consume the token; a concurrent reset that got there first leaves nothing to delete
+        if (passwordResetTokenRepository.consume(tokenHash, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Invalid reset token");
+        }
+        
         // Update password
+        User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(resetPasswordDTO.getNewPassword()));
         
-        // Clear reset token
-        user.setResetToken(null);
-        user.setResetTokenExpiry(null);
-        
         userRepository.save(user);
+        
+        eventPublisher.publishEvent(new UserUpdatedEvent(user.getUsername()));
     }
     
     // EXERCISE 7: User Profile Management 
@@ -208,18 +269,14 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
-        // Check if email is being changed and if it's already taken
-        if (!user.getEmail().equals(updateProfileDTO.getEmail())) {
-            if (userRepository.existsByEmail(updateProfileDTO.getEmail())) {
-                throw new DuplicateResourceException("Email already exists");
-            }
-        }
-        
-        // Update profile
+        // Update profile; a taken email is rejected by the unique index on flush
         user.setFullName(updateProfileDTO.getFullName());
         user.setEmail(updateProfileDTO.getEmail());
         
-        User updatedUser = userRepository.save(user);
+        User updatedUser = saveOrThrowDuplicate(user);
+        
+        eventPublisher.publishEvent(new UserUpdatedEvent(updatedUser.getUsername()));
+        
         return convertToDTO(updatedUser);
     }
     
@@ -235,93 +292,158 @@ public class UserServiceImpl implements UserService {
         
         // Soft delete - set isActive to false
         user.setIsActive(false);
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        
+        eventPublisher.publishEvent(new TokenVersionChangedEvent(user.getUsername(), user.getTokenVersion()));
+        eventPublisher.publishEvent(new UserUpdatedEvent(user.getUsername()));
     }
     
     // EXERCISE 8: Admin Endpoints 
     
     @Override
-    public List<UserResponseDTO> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<UserResponseDTO> getUsersPage(String cursor, Integer size, Role role, Boolean active,
+                                                       LocalDateTime createdAfter, String usernamePrefix) {
+        int pageSize = PageSizes.resolve(size, defaultPageSize, maxPageSize);
+        Long afterId = cursor != null ? CursorCodec.parseId(CursorCodec.decode(cursor, 1)[0]) : 0L;
+        
+        // Fetch one extra row to know whether another page follows
+        List<UserResponseDTO> rows = userRepository.findPageAfterId(
+                afterId, role, active, createdAfter, usernamePrefix, pageSize + 1);
+        
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = rows.subList(0, pageSize);
+        }
+        String nextCursor = hasNext
+                ? CursorCodec.encode(String.valueOf(rows.get(rows.size() - 1).getId()))
+                : null;
+        
+        return new CursorPageDTO<>(rows, pageSize, hasNext, nextCursor);
     }
     
     @Override
     public UserResponseDTO updateUserRole(Long userId, UpdateRoleDTO updateRoleDTO) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
-        user.setRole(updateRoleDTO.getRole());
-        User updatedUser = userRepository.save(user);
+        // Single conditional UPDATE, then read back the new state
+        if (userRepository.updateRole(userId, updateRoleDTO.getRole(), LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("User not found");
+        }
         
-        return convertToDTO(updatedUser);
+        // Tokens issued with the old role are no longer accepted
+        return afterAdminUpdate(userId);
     }
     
     @Override
     public UserResponseDTO toggleUserStatus(Long userId) {
+        // Flip is_active in the database, so two concurrent toggles always apply twice
+        if (userRepository.toggleActive(userId, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        
+        return afterAdminUpdate(userId);
+    }
+    
+    @Override
+    public BulkResultDTO updateUserRoles(BulkUserRoleDTO dto) {
+        int affected = userRepository.updateRoleByIdIn(dto.getIds(), dto.getRole(), LocalDateTime.now());
+        afterBulkAdminUpdate(dto.getIds(), affected);
+        return new BulkResultDTO(affected, 1);
+    }
+    
+    @Override
+    public BulkResultDTO updateUserStatuses(BulkUserStatusDTO dto) {
+        int affected = userRepository.updateActiveByIdIn(dto.getIds(), dto.getActive(), LocalDateTime.now());
+        afterBulkAdminUpdate(dto.getIds(), affected);
+        return new BulkResultDTO(affected, 1);
+    }
+    
+    private UserResponseDTO afterAdminUpdate(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
-        // Toggle isActive status
-        user.setIsActive(!user.getIsActive());
-        User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new TokenVersionChangedEvent(user.getUsername(), user.getTokenVersion()));
+        eventPublisher.publishEvent(new UserUpdatedEvent(user.getUsername()));
         
-        return convertToDTO(updatedUser);
+        return convertToDTO(user);
+    }
+    
+    // Unchanged rows are included too; recording their current version is a no-op
+    private void afterBulkAdminUpdate(List<Long> ids, int affected) {
+        if (affected == 0) {
+            return;
+        }
+        for (UserRepository.TokenVersionView user : userRepository.findByIdIn(ids)) {
+            eventPublisher.publishEvent(new TokenVersionChangedEvent(user.getUsername(), user.getTokenVersion()));
+            eventPublisher.publishEvent(new UserUpdatedEvent(user.getUsername()));
+        }
     }
     
     // EXERCISE 9: Refresh Token 
     
     @Override
-    public RefreshToken createRefreshToken(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
-        // Delete existing refresh token if any
-        refreshTokenRepository.findByUser(user).ifPresent(refreshTokenRepository::delete);
-        
-        // Create new refresh token
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUser(user);
-        refreshToken.setToken(UUID.randomUUID().toString());
-        refreshToken.setExpiryDate(LocalDateTime.now().plusDays(7)); // 7 days expiry
-        
-        return refreshTokenRepository.save(refreshToken);
+    public String createRefreshToken(Long userId) {
+        // Rotate: one DELETE for any existing token, then one INSERT.
+        // getReferenceById only needs the id for the foreign key, so the user is not read.
+        refreshTokenRepository.deleteByUserId(userId);
+        
+        // Create new refresh token; only its digest is stored
+        String token = TokenHasher.newToken();
+        RefreshToken refreshToken = new RefreshToken(
+                userRepository.getReferenceById(userId),
+                TokenHasher.hash(token),
+                LocalDateTime.now().plusDays(REFRESH_TOKEN_DAYS));
+        refreshTokenRepository.save(refreshToken);
+        
+        return token;
     }
     
+    // Rejections still commit, so revoking a replayed or expired token sticks
     @Override
+    @Transactional(noRollbackFor = {IllegalArgumentException.class, ResourceNotFoundException.class})
     public LoginResponseDTO refreshAccessToken(String refreshTokenStr) {
-        // Find refresh token
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(refreshTokenStr)
-                .orElseThrow(() -> new ResourceNotFoundException("Refresh token not found"));
-        
-        // Check if expired
-        if (refreshToken.isExpired()) {
-            refreshTokenRepository.delete(refreshToken);
-            throw new IllegalArgumentException("Refresh token has expired");
+        byte[] presentedHash = TokenHasher.hash(refreshTokenStr);
+        String newToken = TokenHasher.newToken();
+        byte[] newHash = TokenHasher.hash(newToken);
+        LocalDateTime now = LocalDateTime.now();
+        
+        // Rotate in one conditional UPDATE on the unique digest index
+        int rotated = refreshTokenRepository.rotate(presentedHash, newHash, now.plusDays(REFRESH_TOKEN_DAYS), now);
+        if (rotated == 0) {
+            rejectRefreshToken(presentedHash);
         }
         
-        // Get user
-        User user = refreshToken.getUser();
-        
-        // Generate new access token with proper authorities
-        Authentication authentication = new UsernamePasswordAuthenticationToken(
-                user.getUsername(), 
-                null, 
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-        );
-        String newAccessToken = tokenProvider.generateToken(authentication);
+        Long userId = refreshTokenRepository.findUserIdByTokenHash(newHash)
+                .orElseThrow(() -> new ResourceNotFoundException("Refresh token not found"));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
-        // Optionally generate new refresh token
-        RefreshToken newRefreshToken = createRefreshToken(user.getUsername());
+        // Generate new access token with role, status and token version claims
+        String newAccessToken = tokenProvider.generateToken(user);
         
         return new LoginResponseDTO(
                 newAccessToken,
                 user.getUsername(),
                 user.getEmail(),
                 user.getRole().name(),
-                newRefreshToken.getToken()
+                newToken
         );
     }
+    
+    // Explains why the rotation matched nothing. A token that was already rotated away is
+    // being replayed (stolen or a duplicate submit): revoke the user's current token as well.
+    private void rejectRefreshToken(byte[] presentedHash) {
+        Optional<Long> reusedBy = refreshTokenRepository.findUserIdByPreviousHash(presentedHash);
+        if (reusedBy.isPresent()) {
+            refreshTokenRepository.deleteByUserId(reusedBy.get());
+            throw new IllegalArgumentException("Refresh token has already been used; please log in again");
+        }
+        
+        Optional<RefreshToken> existing = refreshTokenRepository.findByTokenHash(presentedHash);
+        if (existing.isPresent()) {
+            refreshTokenRepository.delete(existing.get());
+            throw new IllegalArgumentException("Refresh token has expired");
+        }
+        throw new ResourceNotFoundException("Refresh token not found");
+    }
 }
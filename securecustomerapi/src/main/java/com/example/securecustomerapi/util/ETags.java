@@ -0,0 +1,71 @@
+package com.example.securecustomerapi.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.springframework.util.DigestUtils;
+
+import com.example.securecustomerapi.dto.CustomerResponseDTO;
+
+// Entity tags derived from id + optimistic-lock version, so they can be computed without
+// serializing the body, and an If-Match tag maps straight back to a version for a conditional UPDATE.
+public final class ETags {
+    
+    private ETags() {
+    }
+    
+    // Strong tag for a single customer: "<id>-<version>"
+    public static String of(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+    
+    public static String of(CustomerResponseDTO customer) {
+        return of(customer.getId(), customer.getVersion());
+    }
+    
+    // Version carried by an If-Match holding exactly one tag for this id; null for "*",
+    // several tags or a foreign/malformed tag (callers then compare against the loaded row)
+    public static Long versionOf(String ifMatch, Long id) {
+        String tag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.indexOf(',') >= 0) {
+            return null;
+        }
+        try {
+            return Long.valueOf(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+    
+    // Weak tag for a list page: digest of the item tags plus the next cursor
+    public static String ofPage(List<CustomerResponseDTO> items, String nextCursor) {
+        StringBuilder source = new StringBuilder();
+        for (CustomerResponseDTO item : items) {
+            source.append(of(item)).append(',');
+        }
+        source.append(nextCursor);
+        return "W/\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+    
+    // Last-Modified value; truncated to milliseconds like the header itself
+    public static long toEpochMillis(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return 0L;
+        }
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    // If-Match uses strong comparison: "*" or one of the listed tags must equal the current tag
+    public static boolean matches(String ifMatch, String currentETag) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(currentETag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.securecustomerapi.util;
+
+// Requested page size for the paged/cursor endpoints, bounded by each endpoint's configured limits
+public final class PageSizes {
+    
+    private PageSizes() {
+    }
+    
+    public static int resolve(Integer size, int defaultSize, int maxSize) {
+        if (size == null) {
+            return defaultSize;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(size, maxSize);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.securecustomerapi.util;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+// Tells which unique value a failed insert/update collided with. MySQL reports
+// "Duplicate entry '<value>' for key '<index>'"; matching on the value works whatever
+// name ddl-auto gave the unique index.
+public final class UniqueViolations {
+    
+    private UniqueViolations() {
+    }
+    
+    public static boolean isDuplicateOf(DataIntegrityViolationException ex, String value) {
+        if (value == null) {
+            return false;
+        }
+        Throwable cause = ex.getMostSpecificCause();
+        String message = cause.getMessage();
+        return message != null && message.contains("Duplicate entry '" + value + "'");
+    }
+}
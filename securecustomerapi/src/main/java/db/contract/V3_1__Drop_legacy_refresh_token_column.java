@@ -0,0 +1,24 @@
+package db.contract;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import db.migration.SchemaSupport;
+
+// Contract step for V2: enable (add classpath:db/contract to spring.flyway.locations) only once
+// no instance of the release that wrote refresh_tokens.token is left running. Rows such an
+// instance inserted after V2 are hashed first so those sessions survive the drop.
+public class V3_1__Drop_legacy_refresh_token_column extends BaseJavaMigration {
+    
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = SchemaSupport.jdbc(context.getConnection());
+        if (!SchemaSupport.columnExists(jdbc, "refresh_tokens", "token")) {
+            return;
+        }
+        jdbc.update("UPDATE refresh_tokens SET token_hash = UNHEX(SHA2(token, 256)) " +
+                "WHERE token IS NOT NULL AND token_hash IS NULL");
+        jdbc.execute("ALTER TABLE refresh_tokens DROP COLUMN token");
+    }
+}
@@ -0,0 +1,23 @@
+package db.contract;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import db.migration.SchemaSupport;
+import db.migration.V3__Move_reset_tokens;
+
+// Contract step for V3: copies reset tokens the previous release issued after V3 ran, then drops
+// the raw columns. Same enabling rule as V3_1.
+public class V3_2__Drop_legacy_reset_token_columns extends BaseJavaMigration {
+    
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = SchemaSupport.jdbc(context.getConnection());
+        if (!SchemaSupport.columnExists(jdbc, "users", "reset_token")) {
+            return;
+        }
+        V3__Move_reset_tokens.copyLegacyResetTokens(jdbc);
+        jdbc.execute("ALTER TABLE users DROP COLUMN reset_token, DROP COLUMN reset_token_expiry");
+    }
+}
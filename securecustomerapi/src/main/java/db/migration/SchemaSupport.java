@@ -0,0 +1,40 @@
+package db.migration;
+
+import java.sql.Connection;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+// information_schema checks shared by the Java migrations. Hibernate's ddl-auto=update has
+// already run (see SchemaMigrator), but a migration may still meet a legacy or partial schema.
+public final class SchemaSupport {
+    
+    private SchemaSupport() {
+    }
+    
+    public static JdbcTemplate jdbc(Connection connection) {
+        return new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+    }
+    
+    public static boolean columnExists(JdbcTemplate jdbc, String table, String column) {
+        Integer count = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?",
+                Integer.class, table, column);
+        return count != null && count > 0;
+    }
+    
+    public static boolean indexExists(JdbcTemplate jdbc, String table, String index) {
+        Integer count = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                Integer.class, table, index);
+        return count != null && count > 0;
+    }
+    
+    public static void createIndexIfMissing(JdbcTemplate jdbc, String table, String index, String ddl) {
+        if (!indexExists(jdbc, table, index)) {
+            jdbc.execute(ddl);
+        }
+    }
+}
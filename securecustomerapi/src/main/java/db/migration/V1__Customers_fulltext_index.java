@@ -0,0 +1,17 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Backs CustomerRepository.fullTextSearchIds. Building the first FULLTEXT index rebuilds the
+// customers table, so it belongs here (once, before serving) rather than in a startup hook.
+public class V1__Customers_fulltext_index extends BaseJavaMigration {
+    
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = SchemaSupport.jdbc(context.getConnection());
+        SchemaSupport.createIndexIfMissing(jdbc, "customers", "ft_customers_search",
+                "CREATE FULLTEXT INDEX ft_customers_search ON customers (full_name, email, customer_code)");
+    }
+}
@@ -0,0 +1,25 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Refresh tokens used to be stored raw in a VARCHAR(500) `token` column. Hash them into
+// token_hash (same digest as TokenHasher, so issued tokens keep working) and add the unique
+// index that ddl-auto could not build over the unfilled column. The raw column is only made
+// nullable here so instances still on the previous release keep inserting during a rolling
+// deploy; db/contract/V3_1 drops it once they are gone.
+public class V2__Hash_refresh_tokens extends BaseJavaMigration {
+    
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = SchemaSupport.jdbc(context.getConnection());
+        if (SchemaSupport.columnExists(jdbc, "refresh_tokens", "token")) {
+            jdbc.update("UPDATE refresh_tokens SET token_hash = UNHEX(SHA2(token, 256)) " +
+                    "WHERE token IS NOT NULL AND token_hash IS NULL");
+            jdbc.execute("ALTER TABLE refresh_tokens MODIFY COLUMN token VARCHAR(500) NULL");
+        }
+        SchemaSupport.createIndexIfMissing(jdbc, "refresh_tokens", "uk_refresh_tokens_token_hash",
+                "CREATE UNIQUE INDEX uk_refresh_tokens_token_hash ON refresh_tokens (token_hash)");
+    }
+}
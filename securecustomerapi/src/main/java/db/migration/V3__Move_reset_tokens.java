@@ -0,0 +1,27 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Reset tokens used to live raw in users.reset_token / reset_token_expiry (unindexed, so every
+// reset scanned users). Carry unexpired ones over as digests. INSERT IGNORE keeps a re-run (or a
+// row already copied) from tripping uk_password_reset_tokens_token_hash; the columns themselves
+// are dropped by db/contract/V3_2 once the previous release is no longer running.
+public class V3__Move_reset_tokens extends BaseJavaMigration {
+    
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = SchemaSupport.jdbc(context.getConnection());
+        if (SchemaSupport.columnExists(jdbc, "users", "reset_token")) {
+            copyLegacyResetTokens(jdbc);
+        }
+    }
+    
+    public static void copyLegacyResetTokens(JdbcTemplate jdbc) {
+        jdbc.update(
+                "INSERT IGNORE INTO password_reset_tokens (user_id, token_hash, expiry_date, created_at) " +
+                "SELECT id, UNHEX(SHA2(reset_token, 256)), reset_token_expiry, NOW() FROM users " +
+                "WHERE reset_token IS NOT NULL AND reset_token_expiry > NOW()");
+    }
+}
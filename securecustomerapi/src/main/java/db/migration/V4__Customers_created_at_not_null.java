@@ -0,0 +1,18 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// The createdAt keyset (ORDER BY created_at DESC, id DESC) skips rows whose created_at is NULL,
+// and their cursor cannot be encoded. Only rows inserted outside JPA/batchInsert can lack it:
+// backfill from updated_at (or now), then forbid NULL so ddl-auto's nullable=false holds.
+public class V4__Customers_created_at_not_null extends BaseJavaMigration {
+    
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbc = SchemaSupport.jdbc(context.getConnection());
+        jdbc.update("UPDATE customers SET created_at = COALESCE(updated_at, NOW(6)) WHERE created_at IS NULL");
+        jdbc.execute("ALTER TABLE customers MODIFY COLUMN created_at DATETIME(6) NOT NULL");
+    }
+}
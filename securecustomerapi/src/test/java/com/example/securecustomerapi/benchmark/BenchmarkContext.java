@@ -0,0 +1,78 @@
+package com.example.securecustomerapi.benchmark;
+
+import com.example.securecustomerapi.SecurecustomerapiApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Boots the application without a web server against a throwaway MySQL schema.
+// Override the schema with -Dbenchmark.datasource.url=...
+final class BenchmarkContext {
+
+    private static final String DEFAULT_URL = "jdbc:mysql://localhost:3306/lab09_customer_benchmark"
+            + "?createDatabaseIfNotExist=true&useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true"
+            + "&rewriteBatchedStatements=true";
+
+    private static final String[] FIRST_NAMES = {
+        "John", "Jane", "Michael", "Sarah", "David", "Emma", "Daniel", "Olivia", "James", "Sophia",
+        "Nguyen", "Tran", "Minh", "Thao", "Linh", "Anh", "Huy", "Trang", "Khanh", "Quang"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Wilson", "Taylor",
+        "Pham", "Le", "Hoang", "Vu", "Dang", "Bui", "Do", "Ho", "Ngo", "Duong"
+    };
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=" + System.getProperty("benchmark.datasource.url", DEFAULT_URL),
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "logging.level.com.example.securecustomerapi=WARN",
+                "logging.level.org.springframework.security=WARN"));
+        properties.addAll(List.of(extraProperties));
+
+        return new SpringApplicationBuilder(SecurecustomerapiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties.toArray(new String[0]))
+                .run();
+    }
+
+    // Inserts synthetic customers with deterministic names, codes C000001.. and unique emails
+    static void seedCustomers(JdbcTemplate jdbcTemplate, int rows) {
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int batchSize = 1000;
+
+        for (int start = 0; start < rows; start += batchSize) {
+            List<Object[]> batch = new ArrayList<>();
+            for (int i = start; i < Math.min(start + batchSize, rows); i++) {
+                String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                batch.add(new Object[] {
+                    String.format("C%06d", i + 1),
+                    first + " " + last,
+                    first.toLowerCase() + "." + last.toLowerCase() + i + "@example.com",
+                    "0900" + String.format("%06d", i),
+                    (i % 500) + " Nguyen Hue Street, District 1",
+                    "ACTIVE",
+                    now,
+                    now
+                });
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO customers (customer_code, full_name, email, phone, address, status, created_at, updated_at, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)", batch);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.securecustomerapi.benchmark;
+
+import com.example.securecustomerapi.dto.CustomerResponseDTO;
+import com.example.securecustomerapi.entity.Customer;
+import com.example.securecustomerapi.repository.CustomerRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Entity hydration + copy under a read-write transaction (previous read path) vs JPQL
+// constructor projection under a read-only transaction. main attaches the GC profiler to report
+// allocation per operation (gc.alloc.rate.norm). Requires the MySQL server from application.properties.
+// Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=CustomerReadBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CustomerReadBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private CustomerRepository customerRepository;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    private long sampleId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        customerRepository = context.getBean(CustomerRepository.class);
+        BenchmarkContext.seedCustomers(context.getBean(JdbcTemplate.class), 10_000);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        sampleId = customerRepository.findPageAfterId(5_000L, PageRequest.of(0, 1)).get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> listPageViaEntities() {
+        Pageable page = PageRequest.of(0, pageSize, Sort.by("id"));
+        return readWrite.execute(status -> customerRepository.findAll(page)
+                .stream()
+                .map(CustomerReadBenchmark::toResponse)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> listPageViaProjection() {
+        return readOnly.execute(status -> customerRepository.findPageAfterId(0L, PageRequest.of(0, pageSize)));
+    }
+
+    @Benchmark
+    public CustomerResponseDTO byIdViaEntity() {
+        return readWrite.execute(status -> toResponse(customerRepository.findById(sampleId).orElseThrow()));
+    }
+
+    @Benchmark
+    public CustomerResponseDTO byIdViaProjection() {
+        return readOnly.execute(status -> customerRepository.findResponseById(sampleId).orElseThrow());
+    }
+
+    // Same copy the service used to do in convertToResponseDTO
+    private static CustomerResponseDTO toResponse(Customer customer) {
+        return new CustomerResponseDTO(customer.getId(), customer.getCustomerCode(), customer.getFullName(),
+                customer.getEmail(), customer.getPhone(), customer.getAddress(),
+                customer.getStatus().toString(), customer.getCreatedAt());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerReadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
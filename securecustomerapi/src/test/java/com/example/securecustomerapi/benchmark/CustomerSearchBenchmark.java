@@ -0,0 +1,68 @@
+package com.example.securecustomerapi.benchmark;
+
+import com.example.securecustomerapi.dto.CustomerResponseDTO;
+import com.example.securecustomerapi.repository.CustomerRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Keyword search latency as the customers table grows: LIKE '%kw%' scan vs FULLTEXT MATCH.
+// Requires the MySQL server from application.properties (uses its own schema, see BenchmarkContext).
+// Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=CustomerSearchBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CustomerSearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    @Param({"smith", "thao"})
+    private String keyword;
+
+    private ConfigurableApplicationContext context;
+
+    private CustomerRepository customerRepository;
+
+    private final Pageable firstPage = PageRequest.of(0, 20);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        customerRepository = context.getBean(CustomerRepository.class);
+        BenchmarkContext.seedCustomers(context.getBean(JdbcTemplate.class), rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> likeScan() {
+        return customerRepository.searchCustomers(keyword, firstPage);
+    }
+
+    @Benchmark
+    public List<CustomerResponseDTO> fullTextMatch() {
+        List<Long> ids = customerRepository.fullTextSearchIds("+" + keyword + "*", firstPage);
+        return ids.isEmpty() ? List.of() : customerRepository.findResponsesByIdIn(ids);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
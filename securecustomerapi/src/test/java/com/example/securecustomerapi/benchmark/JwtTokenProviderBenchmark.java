@@ -0,0 +1,87 @@
+package com.example.securecustomerapi.benchmark;
+
+import com.example.securecustomerapi.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Compares parsing every token twice (the old validate-then-read-subject path) with the single-pass parseClaims.
+// Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=JwtTokenProviderBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationAndValidationMustBeLongEnough256Bits";
+
+    private JwtTokenProvider cachedProvider;
+
+    private JwtTokenProvider uncachedProvider;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = newProvider(10_000);
+        uncachedProvider = newProvider(0);
+
+        token = cachedProvider.generateToken(new UsernamePasswordAuthenticationToken(
+                User.withUsername("admin").password("unused").roles("ADMIN").build(), null));
+    }
+
+    // Previous filter path: two full parses, each rebuilding the key and the parser
+    @Benchmark
+    public String legacyValidateThenExtract() {
+        SecretKey validateKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Jwts.parser().verifyWith(validateKey).build().parseSignedClaims(token);
+
+        SecretKey extractKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser().verifyWith(extractKey).build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+
+    // One HMAC verification per call with the prebuilt parser
+    @Benchmark
+    public String singlePassUncached() {
+        Claims claims = uncachedProvider.parseClaims(token);
+        return claims.getSubject();
+    }
+
+    // Repeat token served from the verified-claims cache
+    @Benchmark
+    public String singlePassCached() {
+        Claims claims = cachedProvider.parseClaims(token);
+        return claims.getSubject();
+    }
+
+    private static JwtTokenProvider newProvider(long cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 86400000L);
+        ReflectionTestUtils.setField(provider, "claimsCacheMaxSize", cacheSize);
+        provider.init();
+        return provider;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtTokenProviderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.securecustomerapi.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Closed-loop HTTP load generator: N concurrent clients (one virtual thread each) repeat
+// GET requests for a fixed time; reports throughput, p50/p99/max latency and errors per level.
+// Start the application twice, once plain and once with --spring.profiles.active=virtual-threads,
+// and run this against each to compare platform and virtual request threads.
+// Run (load.* settings go to the harness JVM through benchmark.jvmArgs):
+//   mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=LoadTestHarness \
+//       "-Dbenchmark.jvmArgs=-Dload.baseUrl=http://localhost:8080 -Dload.path=/api/customers/1 \
+//       -Dload.concurrency=1000,2000,5000,10000 -Dload.durationSeconds=30 \
+//       -Dload.username=admin -Dload.password=password123"
+public class LoadTestHarness {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+        String path = System.getProperty("load.path", "/api/customers/1");
+        int[] levels = Arrays.stream(System.getProperty("load.concurrency", "1000,2000,5000,10000").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim()))
+                .toArray();
+        Duration duration = Duration.ofSeconds(Long.getLong("load.durationSeconds", 30));
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmupSeconds", 5));
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String token = login(client, baseUrl,
+                System.getProperty("load.username", "admin"),
+                System.getProperty("load.password", "password123"));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        System.out.printf("%-12s %12s %10s %10s %10s %8s%n", "concurrency", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (int level : levels) {
+            run(client, request, level, warmup);
+            Result result = run(client, request, level, duration);
+            System.out.printf("%-12d %12.1f %10.2f %10.2f %10.2f %8d%n", level,
+                    result.throughput(), result.percentileMillis(0.50), result.percentileMillis(0.99),
+                    result.percentileMillis(1.0), result.errors());
+        }
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors++;
+                                continue;
+                            }
+                        } catch (Exception ex) {
+                            errors++;
+                            continue;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    // Last slot carries the error count
+                    long[] result = Arrays.copyOf(samples, count + 1);
+                    result[count] = errors;
+                    return result;
+                }));
+            }
+        }
+
+        List<long[]> perClient = new ArrayList<>(concurrency);
+        long errors = 0;
+        int total = 0;
+        for (Future<long[]> future : clients) {
+            long[] samples = future.get();
+            errors += samples[samples.length - 1];
+            perClient.add(samples);
+            total += samples.length - 1;
+        }
+
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (long[] samples : perClient) {
+            System.arraycopy(samples, 0, latencies, offset, samples.length - 1);
+            offset += samples.length - 1;
+        }
+        Arrays.sort(latencies);
+        return new Result(latencies, errors, duration);
+    }
+
+    private static String login(HttpClient client, String baseUrl, String username, String password) throws Exception {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed: " + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private record Result(long[] sortedLatencies, long errors, Duration duration) {
+
+        double throughput() {
+            return sortedLatencies.length / (duration.toMillis() / 1000.0);
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
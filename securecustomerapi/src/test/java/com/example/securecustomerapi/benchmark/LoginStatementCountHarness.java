@@ -0,0 +1,40 @@
+package com.example.securecustomerapi.benchmark;
+
+import com.example.securecustomerapi.dto.LoginRequestDTO;
+import com.example.securecustomerapi.dto.RegisterRequestDTO;
+import com.example.securecustomerapi.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Counts the JDBC statements Hibernate prepares per login (Statistics.getPrepareStatementCount).
+// The first login is cold (user read from MySQL); later ones find the user in the UserDetails
+// cache and should only DELETE the old refresh token and INSERT the new one.
+// Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=LoginStatementCountHarness
+public class LoginStatementCountHarness {
+
+    private static final String USERNAME = "statement_count_user";
+
+    private static final String PASSWORD = "password123";
+
+    public static void main(String[] args) {
+        try (ConfigurableApplicationContext context = BenchmarkContext.start(
+                "spring.jpa.properties.hibernate.generate_statistics=true")) {
+            UserService userService = context.getBean(UserService.class);
+            Statistics statistics = context.getBean(EntityManagerFactory.class)
+                    .unwrap(SessionFactory.class)
+                    .getStatistics();
+
+            userService.register(new RegisterRequestDTO(USERNAME, USERNAME + "@example.com", PASSWORD, "Statement Count"));
+
+            int logins = Integer.getInteger("logins", 5);
+            for (int i = 1; i <= logins; i++) {
+                long before = statistics.getPrepareStatementCount();
+                userService.login(new LoginRequestDTO(USERNAME, PASSWORD));
+                long statements = statistics.getPrepareStatementCount() - before;
+                System.out.printf("login %d: %d statements%n", i, statements);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.securecustomerapi.benchmark;
+
+import com.example.securecustomerapi.dto.CustomerResponseDTO;
+import com.example.securecustomerapi.security.BoundedPasswordEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// A login storm (16 threads running BCrypt matches) next to ordinary reads (4 threads
+// serializing a page of customers). Compare the read percentiles (loginStorm:read p0.99)
+// between the plain encoder, where every login thread hashes at once, and the bounded one,
+// where at most half the cores hash and the rest of the CPU stays available for reads.
+// Run: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.class=PasswordHashingBenchmark
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Group)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "password123";
+
+    @Param({"unbounded", "bounded"})
+    public String encoder;
+
+    private PasswordEncoder passwordEncoder;
+
+    private String hash;
+
+    private JsonMapper jsonMapper;
+
+    private List<CustomerResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(10);
+        hash = bcrypt.encode(PASSWORD);
+
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        passwordEncoder = "bounded".equals(encoder)
+                ? new BoundedPasswordEncoder(bcrypt, threads, 1024, null)
+                : bcrypt;
+
+        jsonMapper = JsonMapper.builder().build();
+        page = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            page.add(new CustomerResponseDTO((long) i, String.format("C%06d", i), "Customer " + i,
+                    "customer" + i + "@example.com", "0900000000", "Address " + i, "ACTIVE", LocalDateTime.now()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (passwordEncoder instanceof BoundedPasswordEncoder bounded) {
+            bounded.destroy();
+        }
+    }
+
+    @Benchmark
+    @Group("loginStorm")
+    @GroupThreads(16)
+    public boolean login() {
+        return passwordEncoder.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    @Group("loginStorm")
+    @GroupThreads(4)
+    public String read() {
+        return jsonMapper.writeValueAsString(page);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordHashingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
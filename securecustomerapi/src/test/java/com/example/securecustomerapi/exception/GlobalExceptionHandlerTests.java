@@ -0,0 +1,51 @@
+package com.example.securecustomerapi.exception;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import com.example.securecustomerapi.controller.AdminController;
+import com.example.securecustomerapi.dto.ErrorResponseDTO;
+import com.example.securecustomerapi.entity.Role;
+
+// Bad query parameters on the paged listings are client errors, not 500s
+class GlobalExceptionHandlerTests {
+    
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    
+    private final WebRequest request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/admin/users"));
+    
+    @Test
+    void unknownEnumValueIsBadRequest() throws NoSuchMethodException {
+        MethodParameter roleParam = new MethodParameter(AdminController.class.getMethod("getAllUsers",
+                String.class, Integer.class, Role.class, Boolean.class, LocalDateTime.class, String.class), 2);
+        MethodArgumentTypeMismatchException ex = new MethodArgumentTypeMismatchException(
+                "SUPERUSER", Role.class, "role", roleParam,
+                new IllegalArgumentException("No enum constant " + Role.class.getName() + ".SUPERUSER"));
+        
+        ResponseEntity<ErrorResponseDTO> response = handler.handleMethodArgumentTypeMismatchException(ex, request);
+        
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getStatus()).isEqualTo(400);
+        assertThat(response.getBody().getMessage()).isEqualTo("Invalid value 'SUPERUSER' for parameter 'role'");
+        assertThat(response.getBody().getPath()).isEqualTo("/api/admin/users");
+    }
+    
+    @Test
+    void invalidCursorOrPageSizeIsBadRequest() {
+        ResponseEntity<ErrorResponseDTO> response = handler.handleIllegalArgumentException(
+                new IllegalArgumentException("Invalid cursor"), request);
+        
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getMessage()).isEqualTo("Invalid cursor");
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.securecustomerapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import com.example.securecustomerapi.service.CustomUserDetailsService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTests {
+    
+    private static final String TOKEN = "header.payload.signature";
+    
+    @Mock
+    private JwtTokenProvider tokenProvider;
+    
+    @Mock
+    private CustomUserDetailsService customUserDetailsService;
+    
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+    
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+    
+    @InjectMocks
+    private JwtAuthenticationFilter filter;
+    
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+    
+    private MockFilterChain run(Claims claims) throws Exception {
+        when(tokenProvider.parseClaims(TOKEN)).thenReturn(claims);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers");
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain;
+    }
+    
+    @Test
+    void authenticatesTokenWhoseJtiIsNotRevoked() throws Exception {
+        Claims claims = Jwts.claims().subject("alice").id("jti-live").build();
+        when(tokenRevocationList.isRevoked("jti-live")).thenReturn(false);
+        when(customUserDetailsService.loadUserByUsername("alice"))
+                .thenReturn(new User("alice", "", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        
+        MockFilterChain chain = run(claims);
+        
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("alice");
+        assertThat(chain.getRequest()).isNotNull();
+    }
+    
+    @Test
+    void leavesRequestAnonymousWhenJtiIsRevoked() throws Exception {
+        Claims claims = Jwts.claims().subject("alice").id("jti-logged-out").build();
+        when(tokenRevocationList.isRevoked("jti-logged-out")).thenReturn(true);
+        
+        MockFilterChain chain = run(claims);
+        
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(customUserDetailsService, never()).loadUserByUsername(anyString());
+        // Rejection is left to the authorization rules; the chain still runs
+        assertThat(chain.getRequest()).isNotNull();
+    }
+}
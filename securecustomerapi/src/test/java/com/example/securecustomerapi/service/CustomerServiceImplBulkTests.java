@@ -0,0 +1,136 @@
+package com.example.securecustomerapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.securecustomerapi.config.CacheConfig;
+import com.example.securecustomerapi.dto.BulkCustomerSelectionDTO;
+import com.example.securecustomerapi.dto.BulkCustomerUpdateDTO;
+import com.example.securecustomerapi.dto.BulkResultDTO;
+import com.example.securecustomerapi.dto.CustomerFilterDTO;
+import com.example.securecustomerapi.dto.CustomerResponseDTO;
+import com.example.securecustomerapi.entity.CustomerStatus;
+import com.example.securecustomerapi.repository.CustomerRepository;
+
+// Chunked bulk update/delete: one transaction per chunk of 2 ids, cache evicted per committed chunk
+class CustomerServiceImplBulkTests {
+    
+    private CustomerRepository customerRepository;
+    
+    private PlatformTransactionManager transactionManager;
+    
+    private Cache cache;
+    
+    private CustomerServiceImpl customerService;
+    
+    @BeforeEach
+    void setUp() {
+        customerRepository = mock(CustomerRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CUSTOMERS);
+        cache = cacheManager.getCache(CacheConfig.CUSTOMERS);
+        customerService = new CustomerServiceImpl(customerRepository, null, null,
+                transactionManager, cacheManager, 20, 100, 1000, 2, 100);
+        for (long id = 1; id <= 5; id++) {
+            cache.put(id, new CustomerResponseDTO());
+        }
+    }
+    
+    private static BulkCustomerUpdateDTO rename(List<Long> ids) {
+        BulkCustomerUpdateDTO request = new BulkCustomerUpdateDTO();
+        request.setIds(ids);
+        request.setFullName("Renamed");
+        return request;
+    }
+    
+    @Test
+    void updatesDistinctIdsInChunksAndEvictsThem() {
+        when(customerRepository.patchByIdIn(anyCollection(), eq("Renamed"), isNull(), isNull(), isNull(),
+                any(LocalDateTime.class))).thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        
+        BulkResultDTO result = customerService.bulkUpdateCustomers(rename(List.of(1L, 2L, 2L, 3L, 4L)));
+        
+        assertThat(result.getAffected()).isEqualTo(4);
+        assertThat(result.getChunks()).isEqualTo(2);
+        verify(transactionManager, times(2)).commit(any());
+        for (long id = 1; id <= 4; id++) {
+            assertThat(cache.get(id)).isNull();
+        }
+        assertThat(cache.get(5L)).isNotNull();
+    }
+    
+    @Test
+    void pureStatusChangeUsesTheStatusStatement() {
+        BulkCustomerUpdateDTO request = new BulkCustomerUpdateDTO();
+        request.setIds(List.of(1L));
+        request.setStatus("inactive");
+        when(customerRepository.updateStatusByIdIn(anyCollection(), eq(CustomerStatus.INACTIVE),
+                any(LocalDateTime.class))).thenReturn(1);
+        
+        assertThat(customerService.bulkUpdateCustomers(request).getAffected()).isEqualTo(1);
+        verify(customerRepository, never()).patchByIdIn(anyCollection(), any(), any(), any(), any(), any());
+    }
+    
+    // Earlier chunks stay committed, so their cache entries must already be gone
+    @Test
+    void failedChunkRollsBackAloneAndCommittedChunksAreEvicted() {
+        when(customerRepository.deleteByIdIn(List.of(1L, 2L))).thenReturn(2);
+        when(customerRepository.deleteByIdIn(List.of(3L, 4L))).thenThrow(new IllegalStateException("lock wait timeout"));
+        
+        assertThatThrownBy(() -> customerService.bulkDeleteCustomers(
+                new BulkCustomerSelectionDTO(List.of(1L, 2L, 3L, 4L, 5L), null)))
+                .isInstanceOf(IllegalStateException.class);
+        
+        verify(transactionManager).commit(any());
+        verify(transactionManager).rollback(any());
+        verify(customerRepository, never()).deleteByIdIn(List.of(5L));
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(3L)).isNotNull();
+    }
+    
+    @Test
+    void filterSelectsChunksByKeysetUntilAShortOne() {
+        CustomerFilterDTO filter = new CustomerFilterDTO(null, null, "INACTIVE");
+        when(customerRepository.findIdsAfter(0L, null, null, CustomerStatus.INACTIVE, 2)).thenReturn(List.of(1L, 2L));
+        when(customerRepository.findIdsAfter(2L, null, null, CustomerStatus.INACTIVE, 2)).thenReturn(List.of(5L));
+        when(customerRepository.deleteByIdIn(anyCollection()))
+                .thenAnswer(invocation -> invocation.<List<Long>>getArgument(0).size());
+        
+        BulkResultDTO result = customerService.bulkDeleteCustomers(new BulkCustomerSelectionDTO(null, filter));
+        
+        assertThat(result.getAffected()).isEqualTo(3);
+        assertThat(result.getChunks()).isEqualTo(2);
+        assertThat(cache.get(5L)).isNull();
+        assertThat(cache.get(3L)).isNotNull();
+    }
+    
+    @Test
+    void requiresExactlyOneOfIdsOrFilter() {
+        assertThatThrownBy(() -> customerService.bulkDeleteCustomers(new BulkCustomerSelectionDTO(null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> customerService.bulkDeleteCustomers(
+                new BulkCustomerSelectionDTO(List.of(1L), new CustomerFilterDTO("Jo", null, null))))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(customerRepository, never()).findIdsAfter(any(), any(), any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.securecustomerapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.securecustomerapi.dto.CustomerRequestDTO;
+import com.example.securecustomerapi.dto.CustomerResponseDTO;
+import com.example.securecustomerapi.dto.CustomerUpdateDTO;
+import com.example.securecustomerapi.entity.Customer;
+import com.example.securecustomerapi.exception.DuplicateResourceException;
+import com.example.securecustomerapi.exception.PreconditionFailedException;
+import com.example.securecustomerapi.exception.ResourceNotFoundException;
+import com.example.securecustomerapi.repository.CustomerRepository;
+
+// 404 for a missing row, 412 for a stale If-Match, 409 for a stale body version
+class CustomerServiceImplVersionTests {
+    
+    private CustomerRepository customerRepository;
+    
+    private CustomerServiceImpl customerService;
+    
+    @BeforeEach
+    void setUp() {
+        customerRepository = mock(CustomerRepository.class);
+        customerService = new CustomerServiceImpl(customerRepository, null, null,
+                mock(PlatformTransactionManager.class), mock(CacheManager.class), 20, 100, 1000, 500, 100);
+        // Stands in for the surrounding @Transactional so after-commit evictions can register
+        TransactionSynchronizationManager.initSynchronization();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+    
+    private Customer stored(long version) {
+        Customer customer = new Customer("C001", "Jane Doe", "jane@example.com", "0123456789", "Hanoi");
+        customer.setId(1L);
+        customer.setVersion(version);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        return customer;
+    }
+    
+    private static CustomerRequestDTO request(Long version) {
+        CustomerRequestDTO request = new CustomerRequestDTO("C001", "Jane Roe", "jane@example.com", "0123456789", "Hanoi");
+        request.setVersion(version);
+        return request;
+    }
+    
+    private void conditionalUpdateMatches(int rows) {
+        when(customerRepository.updateIfVersion(eq(1L), anyLong(), any(), any(), any(), any(), any(LocalDateTime.class)))
+                .thenReturn(rows);
+    }
+    
+    private static void commit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+    }
+    
+    @Test
+    void knownVersionUpdatesWithoutReadingTheRowFirst() {
+        CustomerResponseDTO response = new CustomerResponseDTO();
+        response.setId(1L);
+        response.setVersion(5L);
+        conditionalUpdateMatches(1);
+        when(customerRepository.findResponseById(1L)).thenReturn(Optional.of(response));
+        
+        CustomerResponseDTO updated = customerService.updateCustomer(1L, request(null), "\"1-4\"");
+        
+        assertThat(updated.getVersion()).isEqualTo(5L);
+        verify(customerRepository).updateIfVersion(eq(1L), eq(4L), eq("Jane Roe"), eq("jane@example.com"),
+                eq("0123456789"), eq("Hanoi"), any(LocalDateTime.class));
+        verify(customerRepository, never()).findById(anyLong());
+        // Only this customer is evicted, and only once committed
+        verify(customerRepository, never()).evictCached(anyLong());
+        commit();
+        verify(customerRepository).evictCached(1L);
+    }
+    
+    @Test
+    void missingCustomerIsNotFound() {
+        conditionalUpdateMatches(0);
+        when(customerRepository.existsById(1L)).thenReturn(false);
+        
+        assertThatThrownBy(() -> customerService.updateCustomer(1L, request(3L), "\"1-3\""))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+    
+    @Test
+    void staleIfMatchIsPreconditionFailed() {
+        conditionalUpdateMatches(0);
+        when(customerRepository.existsById(1L)).thenReturn(true);
+        
+        assertThatThrownBy(() -> customerService.updateCustomer(1L, request(null), "\"1-3\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+    }
+    
+    @Test
+    void staleBodyVersionIsConflict() {
+        conditionalUpdateMatches(0);
+        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(customerRepository.patchIfVersion(eq(1L), eq(3L), eq("Jane Roe"), isNull(), isNull(), isNull(),
+                any(LocalDateTime.class))).thenReturn(0);
+        
+        assertThatThrownBy(() -> customerService.updateCustomer(1L, request(3L), null))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        
+        CustomerUpdateDTO patch = new CustomerUpdateDTO("Jane Roe", null, null, null);
+        patch.setVersion(3L);
+        assertThatThrownBy(() -> customerService.partialUpdateCustomer(1L, patch))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+    
+    @Test
+    void staleIfMatchOnDeleteIsPreconditionFailed() {
+        when(customerRepository.deleteIfVersion(1L, 3L)).thenReturn(0);
+        when(customerRepository.existsById(1L)).thenReturn(true);
+        
+        assertThatThrownBy(() -> customerService.deleteCustomer(1L, "\"1-3\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(customerRepository, never()).findById(anyLong());
+    }
+    
+    // Without a single version tag the row is loaded, compared and saved through the entity
+    @Test
+    void wildcardIfMatchWritesThroughTheEntity() {
+        Customer customer = stored(4L);
+        when(customerRepository.saveAndFlush(customer)).thenReturn(customer);
+        
+        CustomerResponseDTO updated = customerService.updateCustomer(1L, request(null), "*");
+        
+        assertThat(updated.getFullName()).isEqualTo("Jane Roe");
+        verify(customerRepository).saveAndFlush(customer);
+    }
+    
+    // Another writer committed between the load and the flush
+    @Test
+    void concurrentCommitOnEntityPathMapsToTheRequestsPrecondition() {
+        Customer customer = stored(4L);
+        when(customerRepository.saveAndFlush(customer))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Customer.class, 1L));
+        
+        assertThatThrownBy(() -> customerService.updateCustomer(1L, request(null), "*"))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> customerService.updateCustomer(1L, request(null), null))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+    
+    @Test
+    void duplicateEmailOnConditionalUpdateIsTranslated() {
+        when(customerRepository.updateIfVersion(eq(1L), eq(4L), any(), any(), any(), any(), any(LocalDateTime.class)))
+                .thenThrow(new DuplicateKeyException("could not execute statement",
+                        new SQLIntegrityConstraintViolationException(
+                                "Duplicate entry 'jane@example.com' for key 'customers.email'", "23000", 1062)));
+        
+        assertThatThrownBy(() -> customerService.updateCustomer(1L, request(4L), null))
+                .isInstanceOf(DuplicateResourceException.class)
+                .hasMessageContaining("jane@example.com");
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.securecustomerapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.example.securecustomerapi.dto.BulkResultDTO;
+import com.example.securecustomerapi.dto.BulkUserRoleDTO;
+import com.example.securecustomerapi.dto.BulkUserStatusDTO;
+import com.example.securecustomerapi.dto.UpdateRoleDTO;
+import com.example.securecustomerapi.dto.UserResponseDTO;
+import com.example.securecustomerapi.entity.Role;
+import com.example.securecustomerapi.entity.User;
+import com.example.securecustomerapi.event.TokenVersionChangedEvent;
+import com.example.securecustomerapi.event.UserUpdatedEvent;
+import com.example.securecustomerapi.exception.ResourceNotFoundException;
+import com.example.securecustomerapi.repository.UserRepository;
+
+// Admin role/status changes: one JPQL UPDATE, then a reload that drives the token-version and cache events
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplAdminTests {
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @InjectMocks
+    private UserServiceImpl userService;
+    
+    private User reloaded(Role role, boolean active, int tokenVersion) {
+        User user = new User("alice", "alice@example.com", "hash", "Alice", role);
+        user.setId(1L);
+        user.setIsActive(active);
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+    
+    private List<Object> publishedEvents(int count) {
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, times(count)).publishEvent(events.capture());
+        return events.getAllValues();
+    }
+    
+    @Test
+    void roleChangeReloadsTheUserAndPublishesItsNewTokenVersion() {
+        when(userRepository.updateRole(eq(1L), eq(Role.ADMIN), any(LocalDateTime.class))).thenReturn(1);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(reloaded(Role.ADMIN, true, 3)));
+        
+        UserResponseDTO response = userService.updateUserRole(1L, new UpdateRoleDTO(Role.ADMIN));
+        
+        assertThat(response.getRole()).isEqualTo("ADMIN");
+        List<Object> events = publishedEvents(2);
+        assertThat(events.get(0)).isInstanceOfSatisfying(TokenVersionChangedEvent.class, e -> {
+            assertThat(e.getUsername()).isEqualTo("alice");
+            assertThat(e.getTokenVersion()).isEqualTo(3);
+        });
+        assertThat(events.get(1)).isInstanceOfSatisfying(UserUpdatedEvent.class,
+                e -> assertThat(e.getUsername()).isEqualTo("alice"));
+    }
+    
+    @Test
+    void roleChangeForMissingUserIsNotFoundAndPublishesNothing() {
+        when(userRepository.updateRole(eq(1L), eq(Role.ADMIN), any(LocalDateTime.class))).thenReturn(0);
+        
+        assertThatThrownBy(() -> userService.updateUserRole(1L, new UpdateRoleDTO(Role.ADMIN)))
+                .isInstanceOf(ResourceNotFoundException.class);
+        
+        verify(userRepository, never()).findById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    @Test
+    void statusToggleReloadsTheUserAndPublishesItsNewTokenVersion() {
+        when(userRepository.toggleActive(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(reloaded(Role.USER, false, 2)));
+        
+        UserResponseDTO response = userService.toggleUserStatus(1L);
+        
+        assertThat(response.getIsActive()).isFalse();
+        List<Object> events = publishedEvents(2);
+        assertThat(events.get(0)).isInstanceOfSatisfying(TokenVersionChangedEvent.class,
+                e -> assertThat(e.getTokenVersion()).isEqualTo(2));
+        assertThat(events.get(1)).isInstanceOf(UserUpdatedEvent.class);
+    }
+    
+    @Test
+    void statusToggleForMissingUserIsNotFoundAndPublishesNothing() {
+        when(userRepository.toggleActive(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+        
+        assertThatThrownBy(() -> userService.toggleUserStatus(1L))
+                .isInstanceOf(ResourceNotFoundException.class);
+        
+        verify(userRepository, never()).findById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    @Test
+    void bulkRoleChangePublishesEventsForEveryReloadedUser() {
+        List<Long> ids = List.of(1L, 2L);
+        UserRepository.TokenVersionView alice = mock(UserRepository.TokenVersionView.class);
+        UserRepository.TokenVersionView bob = mock(UserRepository.TokenVersionView.class);
+        when(alice.getUsername()).thenReturn("alice");
+        when(alice.getTokenVersion()).thenReturn(4);
+        when(bob.getUsername()).thenReturn("bob");
+        when(bob.getTokenVersion()).thenReturn(7);
+        when(userRepository.updateRoleByIdIn(eq(ids), eq(Role.ADMIN), any(LocalDateTime.class))).thenReturn(2);
+        when(userRepository.findByIdIn(ids)).thenReturn(List.of(alice, bob));
+        
+        BulkResultDTO result = userService.updateUserRoles(new BulkUserRoleDTO(ids, Role.ADMIN));
+        
+        assertThat(result.getAffected()).isEqualTo(2);
+        assertThat(result.getChunks()).isEqualTo(1);
+        assertThat(publishedEvents(4))
+                .filteredOn(TokenVersionChangedEvent.class::isInstance)
+                .extracting(e -> ((TokenVersionChangedEvent) e).getUsername() + ":" + ((TokenVersionChangedEvent) e).getTokenVersion())
+                .containsExactly("alice:4", "bob:7");
+    }
+    
+    @Test
+    void bulkStatusChangeThatMatchesNoRowsSkipsTheReload() {
+        List<Long> ids = List.of(8L, 9L);
+        when(userRepository.updateActiveByIdIn(eq(ids), eq(false), any(LocalDateTime.class))).thenReturn(0);
+        
+        BulkResultDTO result = userService.updateUserStatuses(new BulkUserStatusDTO(ids, false));
+        
+        assertThat(result.getAffected()).isZero();
+        verify(userRepository, never()).findByIdIn(anyList());
+        verifyNoInteractions(eventPublisher);
+    }
+}
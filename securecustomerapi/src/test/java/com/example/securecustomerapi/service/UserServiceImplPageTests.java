@@ -0,0 +1,77 @@
+package com.example.securecustomerapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.securecustomerapi.dto.CursorPageDTO;
+import com.example.securecustomerapi.dto.UserResponseDTO;
+import com.example.securecustomerapi.entity.Role;
+import com.example.securecustomerapi.repository.UserRepository;
+import com.example.securecustomerapi.util.CursorCodec;
+
+// Admin user listing: keyset pages by id, one extra row fetched to detect the next page
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplPageTests {
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @InjectMocks
+    private UserServiceImpl userService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(userService, "maxPageSize", 3);
+    }
+    
+    private static UserResponseDTO user(long id) {
+        return new UserResponseDTO(id, "user" + id, "user" + id + "@example.com", "User " + id,
+                Role.USER, true, null);
+    }
+    
+    @Test
+    void fullPageCarriesACursorPastItsLastRow() {
+        when(userRepository.findPageAfterId(0L, Role.USER, null, null, null, 3))
+                .thenReturn(List.of(user(1), user(2), user(3)));
+        
+        CursorPageDTO<UserResponseDTO> page = userService.getUsersPage(null, null, Role.USER, null, null, null);
+        
+        assertThat(page.getItems()).extracting(UserResponseDTO::getId).containsExactly(1L, 2L);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(CursorCodec.parseId(CursorCodec.decode(page.getNextCursor(), 1)[0])).isEqualTo(2L);
+    }
+    
+    @Test
+    void cursorResumesAfterTheEncodedIdAndLastPageHasNoCursor() {
+        when(userRepository.findPageAfterId(2L, null, null, null, null, 4)).thenReturn(List.of(user(3)));
+        
+        CursorPageDTO<UserResponseDTO> page = userService.getUsersPage(CursorCodec.encode("2"), 10, null, null, null, null);
+        
+        assertThat(page.getSize()).isEqualTo(3);
+        assertThat(page.getItems()).extracting(UserResponseDTO::getId).containsExactly(3L);
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+    
+    @Test
+    void tamperedCursorIsRejectedBeforeQuerying() {
+        assertThatThrownBy(() -> userService.getUsersPage(CursorCodec.encode("abc"), null, null, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.securecustomerapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+import com.example.securecustomerapi.dto.LoginResponseDTO;
+import com.example.securecustomerapi.entity.RefreshToken;
+import com.example.securecustomerapi.entity.Role;
+import com.example.securecustomerapi.entity.User;
+import com.example.securecustomerapi.exception.ResourceNotFoundException;
+import com.example.securecustomerapi.repository.RefreshTokenRepository;
+import com.example.securecustomerapi.repository.UserRepository;
+import com.example.securecustomerapi.security.JwtTokenProvider;
+import com.example.securecustomerapi.security.TokenHasher;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplRefreshTokenTests {
+    
+    private static final String PRESENTED = "presented-refresh-token";
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    
+    @Mock
+    private JwtTokenProvider tokenProvider;
+    
+    @InjectMocks
+    private UserServiceImpl userService;
+    
+    private void rotationMatches(int rows) {
+        when(refreshTokenRepository.rotate(aryEq(TokenHasher.hash(PRESENTED)), any(byte[].class),
+                any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(rows);
+    }
+    
+    @Test
+    void rotatesPresentedTokenAndReturnsTheNewOne() {
+        User user = new User("alice", "alice@example.com", "hash", "Alice", Role.USER);
+        user.setId(1L);
+        rotationMatches(1);
+        when(refreshTokenRepository.findUserIdByTokenHash(any(byte[].class))).thenReturn(Optional.of(1L));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(tokenProvider.generateToken(user)).thenReturn("access-token");
+        
+        LoginResponseDTO response = userService.refreshAccessToken(PRESENTED);
+        
+        ArgumentCaptor<byte[]> newHash = ArgumentCaptor.forClass(byte[].class);
+        verify(refreshTokenRepository).rotate(aryEq(TokenHasher.hash(PRESENTED)), newHash.capture(),
+                any(LocalDateTime.class), any(LocalDateTime.class));
+        assertThat(response.getToken()).isEqualTo("access-token");
+        assertThat(response.getRefreshToken()).isNotEqualTo(PRESENTED);
+        // Only the digest of the returned token is stored
+        assertThat(newHash.getValue()).isEqualTo(TokenHasher.hash(response.getRefreshToken()));
+    }
+    
+    @Test
+    void replayOfRotatedTokenRevokesTheUsersCurrentToken() {
+        rotationMatches(0);
+        when(refreshTokenRepository.findUserIdByPreviousHash(aryEq(TokenHasher.hash(PRESENTED))))
+                .thenReturn(Optional.of(7L));
+        
+        assertThatThrownBy(() -> userService.refreshAccessToken(PRESENTED))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already been used");
+        verify(refreshTokenRepository).deleteByUserId(7L);
+        verify(tokenProvider, never()).generateToken(any(User.class));
+    }
+    
+    @Test
+    void expiredTokenIsDeleted() {
+        RefreshToken expired = new RefreshToken();
+        rotationMatches(0);
+        when(refreshTokenRepository.findUserIdByPreviousHash(any(byte[].class))).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByTokenHash(aryEq(TokenHasher.hash(PRESENTED))))
+                .thenReturn(Optional.of(expired));
+        
+        assertThatThrownBy(() -> userService.refreshAccessToken(PRESENTED))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expired");
+        verify(refreshTokenRepository).delete(expired);
+    }
+    
+    @Test
+    void unknownTokenIsNotFound() {
+        rotationMatches(0);
+        when(refreshTokenRepository.findUserIdByPreviousHash(any(byte[].class))).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findByTokenHash(any(byte[].class))).thenReturn(Optional.empty());
+        
+        assertThatThrownBy(() -> userService.refreshAccessToken(PRESENTED))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(refreshTokenRepository, never()).deleteByUserId(eq(7L));
+    }
+    
+    // The revocations above must survive the exception that reports them
+    @Test
+    void rejectionsCommitInsteadOfRollingBack() throws Exception {
+        Method method = UserServiceImpl.class.getMethod("refreshAccessToken", String.class);
+        TransactionAttribute attribute = new AnnotationTransactionAttributeSource()
+                .getTransactionAttribute(method, UserServiceImpl.class);
+        
+        assertThat(attribute).isNotNull();
+        assertThat(attribute.rollbackOn(new IllegalArgumentException("reused"))).isFalse();
+        assertThat(attribute.rollbackOn(new ResourceNotFoundException("missing"))).isFalse();
+        assertThat(attribute.rollbackOn(new IllegalStateException("unexpected"))).isTrue();
+    }
+}
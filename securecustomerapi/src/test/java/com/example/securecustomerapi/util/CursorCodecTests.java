@@ -0,0 +1,46 @@
+package com.example.securecustomerapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class CursorCodecTests {
+    
+    @Test
+    void roundTripsTheKeysetPosition() {
+        String cursor = CursorCodec.encode("2024-05-01T10:15:30", "42");
+        
+        String[] parts = CursorCodec.decode(cursor, 2);
+        
+        assertThat(CursorCodec.parseTimestamp(parts[0])).isEqualTo(LocalDateTime.of(2024, 5, 1, 10, 15, 30));
+        assertThat(CursorCodec.parseId(parts[1])).isEqualTo(42L);
+        assertThat(cursor).doesNotContain("=", "+", "/");
+    }
+    
+    @Test
+    void malformedTokenIsAnInvalidCursor() {
+        assertThatThrownBy(() -> CursorCodec.decode("not base64!", 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+    
+    @Test
+    void wrongNumberOfPartsIsAnInvalidCursor() {
+        assertThatThrownBy(() -> CursorCodec.decode(CursorCodec.encode("42"), 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+    
+    @Test
+    void tamperedPartsAreAnInvalidCursor() {
+        assertThatThrownBy(() -> CursorCodec.parseId("abc"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> CursorCodec.parseTimestamp("yesterday"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
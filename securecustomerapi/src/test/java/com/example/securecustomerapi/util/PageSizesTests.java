@@ -0,0 +1,29 @@
+package com.example.securecustomerapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class PageSizesTests {
+    
+    @Test
+    void missingSizeFallsBackToTheDefault() {
+        assertThat(PageSizes.resolve(null, 20, 100)).isEqualTo(20);
+    }
+    
+    @Test
+    void requestedSizeIsCappedAtTheMaximum() {
+        assertThat(PageSizes.resolve(50, 20, 100)).isEqualTo(50);
+        assertThat(PageSizes.resolve(5000, 20, 100)).isEqualTo(100);
+    }
+    
+    @Test
+    void nonPositiveSizeIsRejected() {
+        assertThatThrownBy(() -> PageSizes.resolve(0, 20, 100))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page size must be at least 1");
+        assertThatThrownBy(() -> PageSizes.resolve(-1, 20, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.securecustomerapi.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class UniqueViolationsTests {
+    
+    private static DataIntegrityViolationException duplicate(String value, String index) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException(
+                        "Duplicate entry '" + value + "' for key '" + index + "'", "23000", 1062));
+    }
+    
+    @Test
+    void matchesTheCollidingValueWhateverTheIndexName() {
+        DataIntegrityViolationException ex = duplicate("jane@example.com", "customers.UKrfbvkrffamfql7cjmen8v976v");
+        
+        assertThat(UniqueViolations.isDuplicateOf(ex, "jane@example.com")).isTrue();
+    }
+    
+    @Test
+    void doesNotMatchAnotherValueOfTheSameRow() {
+        DataIntegrityViolationException ex = duplicate("C001", "customers.customer_code");
+        
+        assertThat(UniqueViolations.isDuplicateOf(ex, "jane@example.com")).isFalse();
+        assertThat(UniqueViolations.isDuplicateOf(ex, "C00")).isFalse();
+    }
+    
+    @Test
+    void ignoresNullValuesAndNonDuplicateViolations() {
+        DataIntegrityViolationException notNull = new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Column 'email' cannot be null", "23000", 1048));
+        
+        assertThat(UniqueViolations.isDuplicateOf(duplicate("C001", "customers.customer_code"), null)).isFalse();
+        assertThat(UniqueViolations.isDuplicateOf(notNull, "jane@example.com")).isFalse();
+    }
+}